@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Compara throughput, latencia y errores de las lecturas MVC/JDBC con las lecturas
+# reactivas sobre R2DBC a alta concurrencia. Requiere wrk, el JAR construido
+# (./mvnw -DskipTests package) y PostgreSQL accesible con las variables DB_* habituales.
+#
+# Uso: scripts/bench-reactive.sh [product_id]
+# Variables: CONNECTIONS ("200 1000"), DURATION (30s), THREADS (4), PORT (9991), LIMIT (50)
+set -euo pipefail
+
+PRODUCT_ID="${1:-1}"
+CONNECTIONS="${CONNECTIONS:-200 1000}"
+DURATION="${DURATION:-30s}"
+THREADS="${THREADS:-4}"
+PORT="${PORT:-9991}"
+LIMIT="${LIMIT:-50}"
+JAR="${JAR:-target/prueba-0.0.1-SNAPSHOT.jar}"
+
+command -v wrk >/dev/null || { echo "wrk no está instalado" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "No se encontró $JAR; ejecuta ./mvnw -DskipTests package" >&2; exit 1; }
+
+# La caché se desactiva para que cada petición llegue a la base de datos.
+CACHE_ENABLED=false SERVER_PORT="$PORT" java -jar "$JAR" > target/bench-reactive.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null; do sleep 1; done
+
+run() {
+    local path="$1" connections="$2"
+    echo "=== $path con $connections conexiones ==="
+    wrk -t"$THREADS" -c"$connections" -d"$DURATION" --latency "http://localhost:$PORT$path"
+}
+
+for path in "/api/products?limit=$LIMIT" "/api/reactive/products?limit=$LIMIT"; do
+    wrk -t"$THREADS" -c100 -d10s "http://localhost:$PORT$path" >/dev/null
+done
+
+for connections in $CONNECTIONS; do
+    for prefix in /api /api/reactive; do
+        run "$prefix/products?limit=$LIMIT" "$connections"
+        run "$prefix/products/$PRODUCT_ID" "$connections"
+        run "$prefix/stocks?limit=$LIMIT" "$connections"
+    done
+done
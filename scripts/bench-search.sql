@@ -0,0 +1,84 @@
+-- Benchmark de GET /api/products/search sobre un catálogo sintético de 1M de productos.
+-- Trabaja en un esquema aparte (bench_busqueda) y no toca los datos de public.productos.
+-- Requiere las migraciones de Flyway aplicadas en la misma base de datos (basta con arrancar la API una vez).
+--
+-- Uso: psql -h localhost -p 8899 -U postgres -d mydb -f scripts/bench-search.sql
+-- Variables: -v filas=1000000
+
+\set ON_ERROR_STOP on
+\if :{?filas}
+\else
+\set filas 1000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench_busqueda CASCADE;
+CREATE SCHEMA bench_busqueda;
+SET search_path TO bench_busqueda, public;
+
+CREATE TABLE productos (LIKE public.productos INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING CONSTRAINTS);
+
+-- Nombres y descripciones combinando vocabulario de catálogo; ~5% de productos inactivos.
+INSERT INTO productos (id, nombre, descripcion, precio, estado)
+SELECT g,
+       (ARRAY['Teclado', 'Mouse', 'Monitor', 'Auriculares', 'Cámara', 'Parlante', 'Micrófono', 'Router',
+              'Impresora', 'Disco', 'Memoria', 'Cargador', 'Cable', 'Soporte', 'Lámpara', 'Silla'])[1 + g % 16]
+       || ' ' ||
+       (ARRAY['Mecánico', 'Inalámbrico', 'Ergonómico', 'Portátil', 'Gamer', 'Compacto', 'Profesional',
+              'USB-C', 'Bluetooth', 'Curvo', 'Full HD', '4K', 'RGB', 'Plegable'])[1 + (g / 16) % 14]
+       || ' ' || to_hex(g),
+       (ARRAY['con batería recargable', 'retroiluminado con switches azules', 'con entrada HDMI',
+              'de aluminio anodizado', 'con cancelación de ruido', 'compatible con Windows y macOS',
+              'de bajo consumo', 'resistente al agua', 'con garantía extendida', 'para oficina y hogar'])[1 + (g / 7) % 10]
+       || ' y ' ||
+       (ARRAY['cable trenzado', 'estuche incluido', 'luz LED', 'conexión inalámbrica', 'ajuste de altura',
+              'memoria interna', 'pantalla antirreflejo', 'diseño ergonómico'])[1 + (g / 3) % 8],
+       round((random() * 500)::numeric, 2),
+       g % 20 <> 0
+  FROM generate_series(1, :filas) g;
+
+CREATE INDEX ON productos USING gin (busqueda) WHERE estado = true;
+CREATE INDEX ON productos USING gin (nombre gin_trgm_ops) WHERE estado = true;
+CREATE INDEX ON productos USING gin (descripcion gin_trgm_ops) WHERE estado = true;
+ANALYZE productos;
+
+-- Mismas consultas que ProductSearchRepository (limit 50, offset 0).
+
+\echo '=== PREFIX: tecl ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, nombre, descripcion, precio, fecha_creacion
+  FROM productos
+ WHERE estado = true AND (nombre ILIKE 'tecl%' OR descripcion ILIKE 'tecl%')
+ ORDER BY nombre ILIKE 'tecl%' DESC, similarity(nombre, 'tecl') DESC, id
+ LIMIT 50 OFFSET 0;
+
+\echo '=== SUBSTRING: a1f3 ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, nombre, descripcion, precio, fecha_creacion
+  FROM productos
+ WHERE estado = true AND (nombre ILIKE '%a1f3%' OR descripcion ILIKE '%a1f3%')
+ ORDER BY nombre ILIKE '%a1f3%' DESC, similarity(nombre, 'a1f3') DESC, id
+ LIMIT 50 OFFSET 0;
+
+\echo '=== FULLTEXT: auriculares cancelación ruido ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, nombre, descripcion, precio, fecha_creacion
+  FROM productos, websearch_to_tsquery('spanish', 'auriculares cancelación ruido') consulta
+ WHERE estado = true AND busqueda @@ consulta
+ ORDER BY ts_rank(busqueda, consulta) DESC, id
+ LIMIT 50 OFFSET 0;
+
+-- Referencia: la misma búsqueda por subcadena sin índices (equivale a filtrar la lista completa).
+\echo '=== SUBSTRING sin índices: a1f3 ==='
+SET enable_bitmapscan = off;
+SET enable_indexscan = off;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, nombre, descripcion, precio, fecha_creacion
+  FROM productos
+ WHERE estado = true AND (nombre ILIKE '%a1f3%' OR descripcion ILIKE '%a1f3%')
+ ORDER BY nombre ILIKE '%a1f3%' DESC, similarity(nombre, 'a1f3') DESC, id
+ LIMIT 50 OFFSET 0;
+RESET enable_bitmapscan;
+RESET enable_indexscan;
+
+DROP SCHEMA bench_busqueda CASCADE;
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compara el tiempo hasta atender la primera petición y la memoria residente (RSS)
+# del JAR normal, del JAR procesado con Spring AOT + archivo CDS y, si existe, de
+# la imagen nativa. Requiere PostgreSQL accesible con las variables DB_* habituales
+# y los artefactos construidos:
+#   ./mvnw -Paot -DskipTests package        -> target/aot/ (JAR extraído + application.jsa)
+#   ./mvnw -Pnative -DskipTests native:compile  -> target/prueba (opcional, GraalVM)
+#
+# Uso: scripts/bench-startup.sh
+# Variables: RUNS (5), PORT (9991)
+set -euo pipefail
+
+RUNS="${RUNS:-5}"
+PORT="${PORT:-9991}"
+JAR="${JAR:-target/prueba-0.0.1-SNAPSHOT.jar}"
+AOT_DIR="${AOT_DIR:-target/aot}"
+NATIVE="${NATIVE:-target/prueba}"
+
+[ -f "$JAR" ] || { echo "No se encontró $JAR; ejecuta ./mvnw -Paot -DskipTests package" >&2; exit 1; }
+
+measure() {
+    local mode="$1"
+    shift
+    local total_ms=0 total_rss=0
+    for run in $(seq 1 "$RUNS"); do
+        local start
+        start=$(date +%s%N)
+        SERVER_PORT="$PORT" "$@" > "target/bench-startup-$mode.log" 2>&1 &
+        local pid=$!
+        until curl -sf "http://localhost:$PORT/api/products/1" >/dev/null; do
+            kill -0 "$pid" 2>/dev/null || { echo "$mode no arrancó, ver target/bench-startup-$mode.log" >&2; exit 1; }
+            sleep 0.05
+        done
+        local ms=$(( ($(date +%s%N) - start) / 1000000 ))
+        local rss
+        rss=$(awk '/VmRSS/ {print int($2 / 1024)}' "/proc/$pid/status")
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-10s primera respuesta %6d ms   RSS %5d MB   (media de %d arranques)\n" \
+        "$mode" $((total_ms / RUNS)) $((total_rss / RUNS)) "$RUNS"
+}
+
+measure jar java -jar "$JAR"
+
+if [ -f "$AOT_DIR/application.jsa" ]; then
+    # El archivo CDS solo se usa con el mismo classpath que el entrenamiento, relativo a $AOT_DIR.
+    measure aot-cds env -C "$AOT_DIR" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+        -jar "$(basename "$JAR")"
+else
+    echo "aot-cds    omitido: falta $AOT_DIR/application.jsa (./mvnw -Paot -DskipTests package)"
+fi
+
+if [ -x "$NATIVE" ]; then
+    measure native "$NATIVE"
+else
+    echo "native     omitido: falta $NATIVE (./mvnw -Pnative -DskipTests native:compile)"
+fi
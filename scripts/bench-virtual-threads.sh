@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compara throughput y latencia de GET /api/products/{id} con hilos de plataforma
+# y con hilos virtuales. Requiere wrk, el JAR construido (./mvnw -DskipTests package)
+# y PostgreSQL accesible con las variables DB_* habituales.
+#
+# Uso: scripts/bench-virtual-threads.sh [product_id]
+# Variables: CONNECTIONS (400), DURATION (30s), THREADS (4), PORT (9990)
+set -euo pipefail
+
+PRODUCT_ID="${1:-1}"
+CONNECTIONS="${CONNECTIONS:-400}"
+DURATION="${DURATION:-30s}"
+THREADS="${THREADS:-4}"
+PORT="${PORT:-9990}"
+JAR="${JAR:-target/prueba-0.0.1-SNAPSHOT.jar}"
+
+command -v wrk >/dev/null || { echo "wrk no está instalado" >&2; exit 1; }
+[ -f "$JAR" ] || { echo "No se encontró $JAR; ejecuta ./mvnw -DskipTests package" >&2; exit 1; }
+
+run_mode() {
+    local virtual="$1"
+    echo "=== VIRTUAL_THREADS=$virtual ==="
+    # La caché se desactiva para que cada petición llegue a la base de datos.
+    VIRTUAL_THREADS="$virtual" CACHE_ENABLED=false SERVER_PORT="$PORT" \
+        java -jar "$JAR" > "target/bench-vt-$virtual.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    until curl -sf "http://localhost:$PORT/actuator/health" >/dev/null; do sleep 1; done
+
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d10s "http://localhost:$PORT/api/products/$PRODUCT_ID" >/dev/null
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "http://localhost:$PORT/api/products/$PRODUCT_ID"
+}
+
+run_mode false
+run_mode true
@@ -0,0 +1,59 @@
+package com.gerze.prueba.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gerze.prueba.controller.DTOs.ProductDTO;
+import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.Stock;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private ProductDTO productDTO;
+    private StockDTO stockDTO;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        productDTO = new ProductDTO();
+        productDTO.setName("Teclado Mecánico");
+        productDTO.setDescription("Teclado retroiluminado con switches azules");
+        productDTO.setPrice(new BigDecimal("45.99"));
+
+        stockDTO = new StockDTO();
+        stockDTO.setProductId(1L);
+        stockDTO.setQuantity(10);
+        stockDTO.setLocation("Bodega Central");
+
+        product = productDTO.toEntity();
+        product.setId(1L);
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return productDTO.toEntity();
+    }
+
+    @Benchmark
+    public Stock stockToEntity() {
+        return stockDTO.toEntity(product);
+    }
+}
@@ -0,0 +1,135 @@
+package com.gerze.prueba.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerze.prueba.PruebaApplication;
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.repository.ProductRepository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadModelBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final String ENTITY_PAGE =
+            "select p from Product p left join fetch p.stock where p.state = true and p.id > :after order by p.id";
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(PruebaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--app.cache.enabled=false",
+                        "--logging.level.root=WARN");
+        context.getBean(JdbcTemplate.class).update("""
+                with nuevos as (
+                    insert into productos (nombre, descripcion, precio)
+                    select 'Producto ' || i, 'Descripción del producto ' || i, (i % 500) + 0.99
+                      from generate_series(1, ?) as i
+                    returning id
+                )
+                insert into stock (producto_id, cantidad, ubicacion)
+                select id, 1000000, 'Bodega Central' from nuevos
+                """, CATALOG_SIZE);
+        productRepository = context.getBean(ProductRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public byte[] productByIdEntity() {
+        return readOnlyTransaction.execute(status -> write(
+                ProductView.of(productRepository.findByIdAndStateTrue(randomId()).orElseThrow())));
+    }
+
+    @Benchmark
+    public byte[] productByIdView() {
+        return readOnlyTransaction.execute(status -> write(productRepository.findViewById(randomId()).orElseThrow()));
+    }
+
+    @Benchmark
+    public byte[] productPageEntity() {
+        return readOnlyTransaction.execute(status -> {
+            List<Product> page = entityManager.createQuery(ENTITY_PAGE, Product.class)
+                    .setParameter("after", randomCursor())
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            return write(page.stream().map(ProductView::of).toList());
+        });
+    }
+
+    @Benchmark
+    public byte[] productPageView() {
+        return readOnlyTransaction.execute(status -> write(
+                productRepository.findViewsAfter(randomCursor(), Limit.of(PAGE_SIZE))));
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(4, CATALOG_SIZE + 4);
+    }
+
+    private long randomCursor() {
+        return randomId() - PAGE_SIZE;
+    }
+}
@@ -0,0 +1,88 @@
+package com.gerze.prueba.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockView;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectMapper objectMapper;
+    private ProductView product;
+    private StockView stock;
+    private List<ProductView> productPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Product entity = buildProduct(1L);
+        product = ProductView.of(entity);
+        stock = StockView.of(entity.getStock());
+        productPage = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            productPage.add(ProductView.of(buildProduct(id)));
+        }
+    }
+
+    @Benchmark
+    public byte[] productWithStock() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] stockWithProduct() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stock);
+    }
+
+    @Benchmark
+    public byte[] productPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productPage);
+    }
+
+    private Product buildProduct(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Producto " + id);
+        product.setDescription("Descripción del producto " + id);
+        product.setPrice(BigDecimal.valueOf(100 + id, 2));
+        product.setState(Boolean.TRUE);
+        product.setCreationDate(LocalDateTime.now());
+
+        Stock stock = new Stock();
+        stock.setId(id);
+        stock.setProduct(product);
+        stock.setQuantity(10);
+        stock.setLocation("Bodega Central");
+        stock.setLastUpdate(LocalDateTime.now());
+        product.setStock(stock);
+        return product;
+    }
+}
@@ -0,0 +1,130 @@
+package com.gerze.prueba.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gerze.prueba.PruebaApplication;
+import com.gerze.prueba.controller.DTOs.ProductDTO;
+import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockQuantity;
+import com.gerze.prueba.model.StockView;
+import com.gerze.prueba.service.ProductService;
+import com.gerze.prueba.service.StockService;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private StockService stockService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(PruebaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--app.cache.enabled=" + cached,
+                        "--logging.level.root=WARN");
+        context.getBean(JdbcTemplate.class).update("""
+                with nuevos as (
+                    insert into productos (nombre, descripcion, precio)
+                    select 'Producto ' || i, 'Descripción del producto ' || i, (i % 500) + 0.99
+                      from generate_series(1, ?) as i
+                    returning id
+                )
+                insert into stock (producto_id, cantidad, ubicacion)
+                select id, 1000000, 'Bodega Central' from nuevos
+                """, CATALOG_SIZE);
+        productService = context.getBean(ProductService.class);
+        stockService = context.getBean(StockService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public ProductView getProductById() {
+        return productService.getProductById(randomId());
+    }
+
+    @Benchmark
+    public List<ProductView> getProductsPage() {
+        return productService.getProducts(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<StockView> getStocksPage() {
+        return stockService.getStocks(randomId() - PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Product createProduct() {
+        ProductDTO dto = new ProductDTO();
+        dto.setName("Producto nuevo");
+        dto.setDescription("Creado por el benchmark");
+        dto.setPrice(BigDecimal.TEN);
+        return productService.createProduct(dto);
+    }
+
+    @Benchmark
+    public Stock updateStock() {
+        long id = randomId();
+        StockDTO dto = new StockDTO();
+        dto.setProductId(id);
+        dto.setQuantity(1_000_000);
+        dto.setLocation("Bodega Central");
+        return stockService.updateStock(id, dto);
+    }
+
+    @Benchmark
+    public StockQuantity adjustStock() {
+        return stockService.adjustStock(randomId(), -1);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(4, CATALOG_SIZE + 4);
+    }
+}
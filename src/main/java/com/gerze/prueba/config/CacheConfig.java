@@ -0,0 +1,32 @@
+package com.gerze.prueba.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_PAGES = "productPages";
+    public static final String STOCKS = "stocks";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.enabled:true}") boolean enabled,
+            @Value("${app.cache.spec:maximumSize=10000,expireAfterWrite=60s,recordStats}") String cacheSpec) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PRODUCTS, PRODUCT_PAGES, STOCKS);
+        cacheManager.setCacheSpecification(cacheSpec);
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gerze.prueba.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.gerze.prueba.controller.DTOs.ProductDTO;
+import com.gerze.prueba.controller.DTOs.ProductDeletionResultDTO;
+import com.gerze.prueba.controller.DTOs.ProductImportResultDTO;
+import com.gerze.prueba.controller.DTOs.StockAdjustmentDTO;
+import com.gerze.prueba.controller.DTOs.StockBulkItemDTO;
+import com.gerze.prueba.controller.DTOs.StockBulkResultDTO;
+import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.controller.DTOs.StockReservationDTO;
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductSummary;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockChange;
+import com.gerze.prueba.model.StockQuantity;
+import com.gerze.prueba.model.StockView;
+
+@Configuration
+@ImportRuntimeHints(CatalogRuntimeHints.Registrar.class)
+public class CatalogRuntimeHints {
+
+    private static final Class<?>[] JSON_TYPES = {
+            ProductDTO.class, StockDTO.class, StockAdjustmentDTO.class, StockReservationDTO.class,
+            StockBulkItemDTO.class, ProductImportResultDTO.class, ProductDeletionResultDTO.class,
+            StockBulkResultDTO.class, ProductView.class, StockView.class, ProductSummary.class,
+            StockQuantity.class, StockChange.class
+    };
+
+    private static final Class<?>[] PROJECTIONS = {ProductView.class, StockView.class, ProductSummary.class};
+
+    private static final Class<?>[] ENTITIES = {Product.class, Stock.class};
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+            for (Class<?> projection : PROJECTIONS) {
+                hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("db/migration/*");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.gerze.prueba.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class FlywayConfig {
+
+    private static final String INVALID_INDEXES = """
+            select c.relname
+              from pg_index i
+              join pg_class c on c.oid = i.indexrelid
+              join pg_namespace n on n.oid = c.relnamespace
+             where not i.indisvalid and n.nspname = any(current_schemas(false))
+             order by c.relname
+            """;
+
+    @Bean
+    public FlywayMigrationStrategy verifyingMigrationStrategy(
+            @Value("${spring.flyway.enabled:true}") boolean enabled) {
+        return flyway -> {
+            if (!enabled) {
+                return;
+            }
+            flyway.migrate();
+            List<String> invalidIndexes = new JdbcTemplate(flyway.getConfiguration().getDataSource())
+                    .queryForList(INVALID_INDEXES, String.class);
+            if (!invalidIndexes.isEmpty()) {
+                throw new IllegalStateException("Índices inválidos tras aplicar las migraciones " + invalidIndexes
+                        + " (probablemente un CREATE INDEX CONCURRENTLY interrumpido). Elimínalos con "
+                        + "DROP INDEX CONCURRENTLY y vuelve a crearlos con la definición de su migración.");
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.gerze.prueba.config;
+
+import java.sql.ResultSet;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.gerze.prueba.filter.RequestQueryStats;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .afterQuery((execution, queries) -> RequestQueryStats.recordStatement())
+                        .proxyResultSet()
+                        .afterMethod(context -> {
+                            if (context.getTarget() instanceof ResultSet
+                                    && "next".equals(context.getMethod().getName())
+                                    && Boolean.TRUE.equals(context.getResult())) {
+                                RequestQueryStats.recordRow();
+                            }
+                        })
+                        .build();
+            }
+        };
+    }
+}
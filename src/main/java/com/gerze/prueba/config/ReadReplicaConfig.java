@@ -0,0 +1,68 @@
+package com.gerze.prueba.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica-urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadReplicaDataSource dataSource(DataSourceProperties properties, Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replica-urls}") String replicaUrls,
+            @Value("${app.datasource.replica-health-check-ms:5000}") long healthCheckMillis,
+            @Value("${app.datasource.replica-max-lag-ms:10000}") long maxLagMillis) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        meterRegistry.ifAvailable(registry -> primary.setMetricsTrackerFactory(
+                new MicrometerMetricsTrackerFactory(registry)));
+
+        List<String> urls = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        return new ReadReplicaDataSource(primary, urls, Duration.ofMillis(healthCheckMillis),
+                Duration.ofMillis(maxLagMillis));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor usePrimaryAdvisor() {
+        MethodInterceptor interceptor = invocation -> {
+            boolean previous = ReadReplicaDataSource.routeReadsToPrimary(true);
+            try {
+                return invocation.proceed();
+            } finally {
+                ReadReplicaDataSource.routeReadsToPrimary(previous);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(UsePrimary.class), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
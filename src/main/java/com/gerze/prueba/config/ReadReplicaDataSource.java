@@ -0,0 +1,135 @@
+package com.gerze.prueba.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String REPLICATION_LAG_MILLIS = """
+            select case
+                       when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end
+            """;
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = ThreadLocal.withInitial(() -> false);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final long maxLagMillis;
+    private final ScheduledExecutorService healthChecks;
+
+    public ReadReplicaDataSource(HikariDataSource primary, List<String> replicaUrls, Duration healthCheckInterval,
+            Duration maxLag) {
+        super(primary);
+        this.primary = primary;
+        this.maxLagMillis = maxLag.toMillis();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i));
+            config.setPoolName(primary.getPoolName() + "-replica-" + (i + 1));
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(new HikariDataSource(config)));
+        }
+        setReadOnlyDataSource(new ReplicaRouter());
+        checkReplicas();
+        healthChecks = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health-check").daemon().factory());
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, healthCheckInterval.toMillis(),
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public static boolean routeReadsToPrimary(boolean enabled) {
+        boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(enabled);
+        return previous;
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet lag = statement.executeQuery(REPLICATION_LAG_MILLIS)) {
+                healthy = lag.next() && lag.getLong(1) <= maxLagMillis;
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Réplica {} {}", replica.pool.getPoolName(), healthy ? "disponible" : "no disponible");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private final class ReplicaRouter extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (PRIMARY_READS.get()) {
+                return primary.getConnection();
+            }
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.pool.getConnection();
+                } catch (SQLException e) {
+                    log.warn("Réplica {} no disponible, se usa otra o el primario", replica.pool.getPoolName(), e);
+                    replica.healthy = false;
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
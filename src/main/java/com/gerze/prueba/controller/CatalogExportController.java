@@ -0,0 +1,65 @@
+package com.gerze.prueba.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.gerze.prueba.service.CatalogExportService;
+
+@RestController
+@RequestMapping("/api/export")
+public class CatalogExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String GZIP = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final CatalogExportService catalogExportService;
+
+    public CatalogExportController(CatalogExportService catalogExportService) {
+        this.catalogExportService = catalogExportService;
+    }
+
+    @GetMapping("/catalog")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("catalogo.csv").build().toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            return response.body(catalogExportService::exportCatalog);
+        }
+        StreamingResponseBody body = outputStream -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            OutputStream buffered = new BufferedOutputStream(compressed, GZIP_BUFFER_SIZE);
+            catalogExportService.exportCatalog(buffered);
+            buffered.flush();
+            compressed.finish();
+        };
+        return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.trim().toLowerCase())
+                .anyMatch(coding -> coding.equals(GZIP) || (coding.startsWith(GZIP + ";")
+                        && !coding.replace(" ", "").matches(".*;q=0(\\.0*)?$")));
+    }
+}
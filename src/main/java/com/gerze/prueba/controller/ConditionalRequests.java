@@ -0,0 +1,41 @@
+package com.gerze.prueba.controller;
+
+import java.time.ZoneId;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.gerze.prueba.model.ResourceVersion;
+
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        return request.checkNotModified(version.eTag(), lastModifiedMillis(version));
+    }
+
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+    }
+
+    static ResponseEntity.BodyBuilder ok(ResourceVersion version) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.eTag());
+        if (version.lastModified() != null) {
+            response.lastModified(lastModifiedMillis(version));
+        }
+        return response;
+    }
+
+    private static long lastModifiedMillis(ResourceVersion version) {
+        if (version.lastModified() == null) {
+            return -1;
+        }
+        return version.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,37 @@
+package com.gerze.prueba.controller;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.ResponseEntity;
+
+final class CursorPagination {
+
+    static final String DEFAULT_LIMIT = "50";
+    static final int MAX_LIMIT = 500;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+
+    private CursorPagination() {
+    }
+
+    static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    static <T> ResponseEntity<List<T>> page(List<T> items, int limit, Function<T, Long> cursorOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!items.isEmpty() && items.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(cursorOf.apply(items.get(items.size() - 1))));
+        }
+        return response.body(items);
+    }
+
+    static <T> ResponseEntity<List<T>> offsetPage(List<T> items, int limit, int offset) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (items.size() == limit) {
+            response.header(NEXT_OFFSET_HEADER, String.valueOf(offset + limit));
+        }
+        return response.body(items);
+    }
+}
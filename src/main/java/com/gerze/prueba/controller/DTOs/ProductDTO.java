@@ -5,8 +5,10 @@ import java.math.BigDecimal;
 import com.gerze.prueba.model.Product;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,12 +19,14 @@ import lombok.Setter;
 public class ProductDTO {
 
     @NotBlank(message = "El nombre del producto es obligatorio")
+    @Size(max = 150, message = "El nombre no puede superar los 150 caracteres")
     private String name;
 
     private String description;
 
     @NotNull(message = "El precio del producto es obligatorio")
     @DecimalMin(value = "0.0", inclusive = true, message = "El precio debe ser mayor o igual a 0")
+    @Digits(integer = 10, fraction = 2, message = "El precio admite hasta 10 dígitos enteros y 2 decimales")
     private BigDecimal price;
 
     public Product toEntity() {
@@ -0,0 +1,15 @@
+package com.gerze.prueba.controller.DTOs;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductDeletionResultDTO {
+
+    private List<Long> deleted;
+
+    private List<Long> notFound;
+}
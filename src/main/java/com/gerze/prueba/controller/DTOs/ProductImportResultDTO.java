@@ -0,0 +1,32 @@
+package com.gerze.prueba.controller.DTOs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ProductImportResultDTO {
+
+    private int imported;
+
+    private int failed;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void addError(long row, List<String> messages, int maxReportedErrors) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(row, messages));
+        }
+    }
+
+    public record RowError(long row, List<String> messages) {
+    }
+}
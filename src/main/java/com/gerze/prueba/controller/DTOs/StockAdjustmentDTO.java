@@ -0,0 +1,15 @@
+package com.gerze.prueba.controller.DTOs;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class StockAdjustmentDTO {
+
+    @NotNull(message = "La variación de cantidad es obligatoria")
+    private Integer delta;
+}
@@ -0,0 +1,37 @@
+package com.gerze.prueba.controller.DTOs;
+
+import com.gerze.prueba.model.StockBulkChange;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class StockBulkItemDTO {
+
+    @NotNull(message = "El identificador del producto es obligatorio")
+    private Long productId;
+
+    @Min(value = 0, message = "La cantidad debe ser mayor o igual a 0")
+    private Integer quantity;
+
+    private Integer delta;
+
+    @Size(max = 100, message = "La ubicación no puede superar los 100 caracteres")
+    private String location;
+
+    @AssertTrue(message = "Debe indicarse quantity o delta, pero no ambos")
+    public boolean isSingleChange() {
+        return (quantity == null) != (delta == null);
+    }
+
+    public StockBulkChange toChange() {
+        return new StockBulkChange(productId, quantity, delta == null ? 0 : delta, location);
+    }
+}
@@ -0,0 +1,46 @@
+package com.gerze.prueba.controller.DTOs;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.gerze.prueba.model.StockBulkOutcome;
+import com.gerze.prueba.model.StockBulkOutcome.Status;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class StockBulkResultDTO {
+
+    private int updated;
+
+    private int failed;
+
+    private List<ItemResult> items = new ArrayList<>();
+
+    public void addOutcome(long item, Long productId, StockBulkOutcome outcome) {
+        if (outcome.status() == Status.UPDATED) {
+            updated++;
+        } else {
+            failed++;
+        }
+        Long stockId = outcome.stock() != null ? outcome.stock().stockId() : null;
+        Integer quantity = outcome.stock() != null ? outcome.stock().quantity() : null;
+        items.add(new ItemResult(item, productId, outcome.status(), stockId, quantity, outcome.errors()));
+    }
+
+    public void addInvalid(long item, Long productId, List<String> messages) {
+        failed++;
+        items.add(new ItemResult(item, productId, Status.INVALID, null, null, messages));
+    }
+
+    public void sortItems() {
+        items.sort(Comparator.comparingLong(ItemResult::item));
+    }
+
+    public record ItemResult(long item, Long productId, Status status, Long stockId, Integer quantity,
+            List<String> errors) {
+    }
+}
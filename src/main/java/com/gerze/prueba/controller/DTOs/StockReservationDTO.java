@@ -0,0 +1,17 @@
+package com.gerze.prueba.controller.DTOs;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class StockReservationDTO {
+
+    @NotNull(message = "La cantidad a reservar es obligatoria")
+    @Min(value = 1, message = "La cantidad a reservar debe ser mayor o igual a 1")
+    private Integer quantity;
+}
@@ -1,21 +1,45 @@
 package com.gerze.prueba.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gerze.prueba.controller.DTOs.ProductDTO;
+import com.gerze.prueba.controller.DTOs.ProductDeletionResultDTO;
+import com.gerze.prueba.controller.DTOs.ProductImportResultDTO;
 import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductSearchMode;
+import com.gerze.prueba.model.ProductSummary;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.ResourceVersion;
+import com.gerze.prueba.service.ProductImportService;
 import com.gerze.prueba.service.ProductService;
 
 import jakarta.validation.Valid;
@@ -25,48 +49,131 @@ import jakarta.validation.Valid;
 @Validated
 public class ProductController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int MAX_BULK_DELETE_IDS = 1000;
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+            ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<List<ProductView>> getAllProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = CursorPagination.clampLimit(limit);
+        return CursorPagination.page(productService.getProducts(after, pageSize), pageSize, ProductView::id);
+    }
+
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<ProductSummary>> getProductSummaries(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = CursorPagination.clampLimit(limit);
+        return CursorPagination.page(productService.getProductSummaries(after, pageSize), pageSize, ProductSummary::id);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSummary>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "FULLTEXT") ProductSearchMode mode,
+            @RequestParam(defaultValue = CursorPagination.DEFAULT_LIMIT) int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = CursorPagination.clampLimit(limit);
+        int start = Math.max(0, offset);
+        return CursorPagination.offsetPage(productService.searchProducts(q, mode, pageSize, start), pageSize, start);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = outputStream -> productService.streamAllProducts(product -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(product));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
+    public ResponseEntity<ProductView> getProductById(@PathVariable Long id, WebRequest request) {
+        ProductView product = productService.getProductById(id);
         if (product == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(product);
+        ResourceVersion version = ResourceVersion.of(product);
+        if (ConditionalRequests.isNotModified(request, version)) {
+            return ConditionalRequests.notModified();
+        }
+        return ConditionalRequests.ok(version).body(product);
     }
 
     @PostMapping
-    public ResponseEntity<Product> createProduct(@Valid @RequestBody ProductDTO productDTO) {
+    public ResponseEntity<ProductView> createProduct(@Valid @RequestBody ProductDTO productDTO) {
         Product createdProduct = productService.createProduct(productDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProductView.of(createdProduct));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductImportResultDTO> importProducts(InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importJson(body));
+    }
+
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ProductImportResultDTO> importProductsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importCsv(body));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO) {
-        Product updatedProduct = productService.updateProduct(id, productDTO);
+    public ResponseEntity<ProductView> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Product updatedProduct;
+        try {
+            updatedProduct = productService.updateProduct(id, productDTO, ifMatch);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         if (updatedProduct == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(updatedProduct);
+        return ConditionalRequests.ok(ResourceVersion.of(updatedProduct)).body(ProductView.of(updatedProduct));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        Product existingProduct = productService.getProductById(id);
-        if (existingProduct == null) {
+        if (!productService.deleteProduct(id)) {
             return ResponseEntity.notFound().build();
         }
-        productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping
+    public ResponseEntity<ProductDeletionResultDTO> deleteProducts(@RequestParam List<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (requested.isEmpty() || requested.size() > MAX_BULK_DELETE_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<Long> deleted = new HashSet<>(productService.deleteProducts(requested));
+        Map<Boolean, List<Long>> byOutcome = requested.stream().collect(Collectors.partitioningBy(deleted::contains));
+        return ResponseEntity.ok(new ProductDeletionResultDTO(byOutcome.get(true), byOutcome.get(false)));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentModification() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
 }
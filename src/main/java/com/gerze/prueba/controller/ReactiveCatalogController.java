@@ -0,0 +1,72 @@
+package com.gerze.prueba.controller;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.ResourceVersion;
+import com.gerze.prueba.model.StockView;
+import com.gerze.prueba.service.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    public ReactiveCatalogController(ReactiveCatalogService reactiveCatalogService) {
+        this.reactiveCatalogService = reactiveCatalogService;
+    }
+
+    @GetMapping("/products")
+    public Mono<ResponseEntity<List<ProductView>>> getAllProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = CursorPagination.clampLimit(limit);
+        return reactiveCatalogService.getProducts(after, pageSize)
+                .map(products -> CursorPagination.page(products, pageSize, ProductView::id));
+    }
+
+    @GetMapping(path = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductView> streamAllProducts() {
+        return reactiveCatalogService.streamAllProducts();
+    }
+
+    @GetMapping("/products/{id}")
+    public Mono<ResponseEntity<ProductView>> getProductById(@PathVariable Long id) {
+        return reactiveCatalogService.getProductById(id)
+                .map(product -> ConditionalRequests.ok(ResourceVersion.of(product)).body(product))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/stocks")
+    public Mono<ResponseEntity<List<StockView>>> getAllStock(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = CursorPagination.clampLimit(limit);
+        return reactiveCatalogService.getStocks(after, pageSize)
+                .map(stocks -> CursorPagination.page(stocks, pageSize, StockView::id));
+    }
+
+    @GetMapping(path = "/stocks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StockView> streamAllStock() {
+        return reactiveCatalogService.streamAllStocks();
+    }
+
+    @GetMapping("/stocks/{id}")
+    public Mono<ResponseEntity<StockView>> getStockById(@PathVariable Long id) {
+        return reactiveCatalogService.getStockById(id)
+                .map(stock -> ConditionalRequests.ok(ResourceVersion.of(stock)).body(stock))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -1,21 +1,44 @@
 package com.gerze.prueba.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.gerze.prueba.controller.DTOs.StockAdjustmentDTO;
+import com.gerze.prueba.controller.DTOs.StockBulkResultDTO;
 import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.controller.DTOs.StockReservationDTO;
+import com.gerze.prueba.model.ResourceVersion;
 import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockQuantity;
+import com.gerze.prueba.model.StockSummary;
+import com.gerze.prueba.model.StockView;
+import com.gerze.prueba.service.StockBulkService;
+import com.gerze.prueba.service.StockChangeFeed;
+import com.gerze.prueba.service.StockReservationService;
 import com.gerze.prueba.service.StockService;
 
 import jakarta.validation.Valid;
@@ -26,45 +49,130 @@ import jakarta.validation.Valid;
 public class StockController {
 
     private final StockService stockService;
+    private final StockReservationService stockReservationService;
+    private final StockChangeFeed stockChangeFeed;
+    private final StockBulkService stockBulkService;
 
-    public StockController(StockService stockService) {
+    public StockController(StockService stockService, StockReservationService stockReservationService,
+            StockChangeFeed stockChangeFeed, StockBulkService stockBulkService) {
         this.stockService = stockService;
+        this.stockReservationService = stockReservationService;
+        this.stockChangeFeed = stockChangeFeed;
+        this.stockBulkService = stockBulkService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Stock>> getAllStock() {
-        return ResponseEntity.ok(stockService.getAllStock());
+    public ResponseEntity<List<StockView>> getAllStock(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = CursorPagination.DEFAULT_LIMIT) int limit) {
+        int pageSize = CursorPagination.clampLimit(limit);
+        return CursorPagination.page(stockService.getStocks(after, pageSize), pageSize, StockView::id);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<StockSummary> getStockSummary() {
+        return ResponseEntity.ok(stockService.getStockSummary());
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockChanges() {
+        return stockChangeFeed.subscribe();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Stock> getStockById(@PathVariable Long id) {
-        Stock stock = stockService.getStockById(id);
+    public ResponseEntity<StockView> getStockById(@PathVariable Long id, WebRequest request) {
+        StockView stock = stockService.getStockById(id);
         if (stock == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(stock);
+        ResourceVersion version = ResourceVersion.of(stock);
+        if (ConditionalRequests.isNotModified(request, version)) {
+            return ConditionalRequests.notModified();
+        }
+        return ConditionalRequests.ok(version).body(stock);
     }
 
     @PostMapping
-    public ResponseEntity<Stock> createStock(@Valid @RequestBody StockDTO stockDTO) {
+    public ResponseEntity<StockView> createStock(@Valid @RequestBody StockDTO stockDTO) {
         Stock createdStock = stockService.createStock(stockDTO);
         if (createdStock == null) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdStock);
+        return ResponseEntity.status(HttpStatus.CREATED).body(StockView.of(createdStock));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StockBulkResultDTO> applyBulk(InputStream body) throws IOException {
+        return ResponseEntity.ok(stockBulkService.applyJson(body));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Stock> updateStock(@PathVariable Long id, @Valid @RequestBody StockDTO stockDTO) {
-        Stock existingStock = stockService.getStockById(id);
-        if (existingStock == null) {
+    public ResponseEntity<StockView> updateStock(@PathVariable Long id, @Valid @RequestBody StockDTO stockDTO,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (stockService.getStockById(id) == null) {
             return ResponseEntity.notFound().build();
         }
-        Stock updatedStock = stockService.updateStock(id, stockDTO);
+        Stock updatedStock;
+        try {
+            updatedStock = stockService.updateStock(id, stockDTO, ifMatch);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch == null) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         if (updatedStock == null) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(updatedStock);
+        return ConditionalRequests.ok(ResourceVersion.of(updatedStock)).body(StockView.of(updatedStock));
+    }
+
+    @PostMapping("/{id}/adjust")
+    public ResponseEntity<StockQuantity> adjustStock(@PathVariable Long id,
+            @Valid @RequestBody StockAdjustmentDTO adjustmentDTO) {
+        StockQuantity adjusted = stockService.adjustStock(id, adjustmentDTO.getDelta());
+        if (adjusted != null) {
+            return ResponseEntity.ok(adjusted);
+        }
+        if (!stockService.existsActiveStock(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return rejectedAdjustment(adjustmentDTO);
+    }
+
+    @PostMapping("/product/{productId}/adjust")
+    public ResponseEntity<StockQuantity> adjustStockByProduct(@PathVariable Long productId,
+            @Valid @RequestBody StockAdjustmentDTO adjustmentDTO) {
+        StockQuantity adjusted = stockService.adjustStockByProductId(productId, adjustmentDTO.getDelta());
+        if (adjusted != null) {
+            return ResponseEntity.ok(adjusted);
+        }
+        if (!stockService.existsActiveStockForProduct(productId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return rejectedAdjustment(adjustmentDTO);
+    }
+
+    @PostMapping("/product/{productId}/reserve")
+    public CompletableFuture<ResponseEntity<StockQuantity>> reserveStock(@PathVariable Long productId,
+            @Valid @RequestBody StockReservationDTO reservationDTO) {
+        return stockReservationService.reserve(productId, reservationDTO.getQuantity())
+                .handle((reservation, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        if (cause instanceof RejectedExecutionException) {
+                            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                    .header(HttpHeaders.RETRY_AFTER, "1")
+                                    .<StockQuantity>build();
+                        }
+                        throw new CompletionException(cause);
+                    }
+                    return switch (reservation.status()) {
+                        case RESERVED -> ResponseEntity.ok(reservation.stock());
+                        case INSUFFICIENT_STOCK -> ResponseEntity.status(HttpStatus.CONFLICT).body(reservation.stock());
+                        case NOT_FOUND -> ResponseEntity.notFound().<StockQuantity>build();
+                    };
+                });
     }
 
     @DeleteMapping("/{id}")
@@ -75,4 +183,16 @@ public class StockController {
         }
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<StockQuantity> rejectedAdjustment(StockAdjustmentDTO adjustmentDTO) {
+        if (adjustmentDTO.getDelta() > 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentModification() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
 }
@@ -0,0 +1,94 @@
+package com.gerze.prueba.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int BASELINE_SAMPLES = 600;
+    private static final double BASELINE_RECOVERY = 0.95;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final LongSupplier clock;
+    private final double[] baselineNanos = new double[RequestPriority.values().length];
+
+    private double limit;
+    private int inFlight;
+    private long windowStart;
+    private double windowLatencyRatio;
+    private int windowSamples;
+    private int windowPeakInFlight;
+    private boolean windowSaturated;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, LongSupplier clock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.clock = clock;
+        this.limit = clamp(initialLimit);
+        this.windowStart = clock.getAsLong();
+    }
+
+    synchronized boolean tryAcquire(RequestPriority priority) {
+        if (inFlight >= priority.permits(limit)) {
+            windowSaturated = true;
+            return false;
+        }
+        inFlight++;
+        windowPeakInFlight = Math.max(windowPeakInFlight, inFlight);
+        return true;
+    }
+
+    synchronized void release() {
+        inFlight--;
+    }
+
+    synchronized void release(RequestPriority priority, long latencyNanos) {
+        inFlight--;
+        double latency = Math.max(1, latencyNanos);
+        double baseline = baselineNanos[priority.ordinal()];
+        baseline = baseline == 0 ? latency : baseline + (latency - baseline) / BASELINE_SAMPLES;
+        if (baseline > 2 * latency) {
+            baseline *= BASELINE_RECOVERY;
+        }
+        baselineNanos[priority.ordinal()] = baseline;
+        windowLatencyRatio += latency / baseline;
+        windowSamples++;
+
+        long now = clock.getAsLong();
+        if (windowSamples < MIN_WINDOW_SAMPLES || now - windowStart < WINDOW_NANOS) {
+            return;
+        }
+        double latencyRatio = windowLatencyRatio / windowSamples;
+        boolean demandExceededLimit = windowSaturated || windowPeakInFlight >= limit / 2;
+        windowStart = now;
+        windowLatencyRatio = 0;
+        windowSamples = 0;
+        windowPeakInFlight = inFlight;
+        windowSaturated = false;
+        if (!demandExceededLimit) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance / latencyRatio));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
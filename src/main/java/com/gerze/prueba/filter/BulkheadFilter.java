@@ -0,0 +1,165 @@
+package com.gerze.prueba.filter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_METRIC = "api.bulkhead.limit";
+    public static final String IN_FLIGHT_METRIC = "api.bulkhead.in.flight";
+    public static final String REJECTED_METRIC = "api.bulkhead.rejected";
+
+    private static final String STOCK_STREAM_PATH = "/api/stocks/stream";
+    private static final String REACTIVE_PATH_PREFIX = "/api/reactive/";
+    private static final String EXPORT_PATH_PREFIX = "/api/export/";
+    private static final String EXPORT_PRIORITY_TAG = "export";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final Semaphore exportPermits;
+    private final Map<String, Counter> rejections = new HashMap<>();
+
+    @Autowired
+    public BulkheadFilter(
+            @Value("${app.bulkhead.initial-limit:20}") int initialLimit,
+            @Value("${app.bulkhead.min-limit:5}") int minLimit,
+            @Value("${app.bulkhead.max-limit:40}") int maxLimit,
+            @Value("${app.bulkhead.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${app.bulkhead.max-exports:2}") int maxExports,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTolerance, System::nanoTime),
+                maxExports, meterRegistry.getIfAvailable());
+    }
+
+    BulkheadFilter(AdaptiveConcurrencyLimit limit, int maxExports, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.exportPermits = new Semaphore(maxExports);
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder(LIMIT_METRIC, limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit for /api requests")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently holding a bulkhead permit")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            registerRejections(meterRegistry, priority.name().toLowerCase(Locale.ROOT));
+        }
+        registerRejections(meterRegistry, EXPORT_PRIORITY_TAG);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.equals(STOCK_STREAM_PATH) || uri.startsWith(REACTIVE_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getRequestURI().startsWith(EXPORT_PATH_PREFIX)) {
+            if (!exportPermits.tryAcquire()) {
+                reject(response, EXPORT_PRIORITY_TAG);
+                return;
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                releaseOnCompletion(request, exportPermits::release);
+            }
+            return;
+        }
+
+        RequestPriority priority = RequestPriority.of(request);
+        if (!limit.tryAcquire(priority)) {
+            reject(response, priority.name().toLowerCase(Locale.ROOT));
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                releaseOnCompletion(request, limit::release);
+            } else {
+                limit.release(priority, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void registerRejections(MeterRegistry meterRegistry, String priority) {
+        rejections.put(priority, Counter.builder(REJECTED_METRIC)
+                .description("Requests shed by the bulkhead with 503")
+                .tag("priority", priority)
+                .register(meterRegistry));
+    }
+
+    private void reject(HttpServletResponse response, String priority) {
+        Counter counter = rejections.get(priority);
+        if (counter != null) {
+            counter.increment();
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    private void releaseOnCompletion(HttpServletRequest request, Runnable release) {
+        if (!request.isAsyncStarted()) {
+            release.run();
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        request.getAsyncContext().addListener(new ReleasingAsyncListener(() -> {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        }));
+    }
+
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.gerze.prueba.filter;
+
+import java.util.regex.Pattern;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+enum RequestPriority {
+
+    CRITICAL(1.0),
+    STANDARD(0.75),
+    SHEDDABLE(0.5);
+
+    private static final Pattern SINGLE_RESOURCE = Pattern.compile("/api/(products|stocks)/\\d+");
+    private static final Pattern STOCK_ADJUSTMENT =
+            Pattern.compile("/api/stocks/(\\d+|product/\\d+)/(adjust|reserve)");
+    private static final String STOCK_SUMMARY_PATH = "/api/stocks/summary";
+    private static final String PRODUCTS_PATH = "/api/products";
+
+    private final double limitShare;
+
+    RequestPriority(double limitShare) {
+        this.limitShare = limitShare;
+    }
+
+    int permits(double limit) {
+        return Math.max(1, (int) (limit * limitShare));
+    }
+
+    static RequestPriority of(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (STOCK_ADJUSTMENT.matcher(uri).matches() || (read && SINGLE_RESOURCE.matcher(uri).matches())) {
+            return CRITICAL;
+        }
+        if (read) {
+            return uri.equals(STOCK_SUMMARY_PATH) ? STANDARD : SHEDDABLE;
+        }
+        if (uri.endsWith("/bulk") || ("DELETE".equals(request.getMethod()) && uri.equals(PRODUCTS_PATH))) {
+            return SHEDDABLE;
+        }
+        return STANDARD;
+    }
+}
@@ -5,10 +5,9 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Where;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -16,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -51,7 +51,14 @@ public class Product {
     @Column(name = "fecha_creacion", updatable = false, insertable=false)
     private LocalDateTime creationDate;
 
+    @UpdateTimestamp
+    @Column(name = "ultima_actualizacion", nullable = false)
+    private LocalDateTime lastUpdate;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToOne(mappedBy = "product")
-    @JsonIgnoreProperties("product")
     private Stock stock;
 }
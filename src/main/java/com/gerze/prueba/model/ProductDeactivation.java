@@ -0,0 +1,4 @@
+package com.gerze.prueba.model;
+
+public record ProductDeactivation(Long productId, Long stockId) {
+}
@@ -0,0 +1,7 @@
+package com.gerze.prueba.model;
+
+public enum ProductSearchMode {
+    PREFIX,
+    SUBSTRING,
+    FULLTEXT
+}
@@ -0,0 +1,12 @@
+package com.gerze.prueba.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ProductSummary(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        LocalDateTime creationDate) {
+}
@@ -0,0 +1,38 @@
+package com.gerze.prueba.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ProductView(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        Boolean state,
+        LocalDateTime creationDate,
+        LocalDateTime lastUpdate,
+        Long version,
+        StockInfo stock) {
+
+    public ProductView(Long id, String name, String description, BigDecimal price, Boolean state,
+            LocalDateTime creationDate, LocalDateTime lastUpdate, Long version, Long stockId, Integer stockQuantity,
+            String stockLocation, LocalDateTime stockLastUpdate, Long stockVersion) {
+        this(id, name, description, price, state, creationDate, lastUpdate, version,
+                stockId == null ? null : new StockInfo(stockId, stockQuantity, stockLocation, stockLastUpdate, stockVersion));
+    }
+
+    public static ProductView of(Product product) {
+        Stock stock = product.getStock();
+        return new ProductView(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getState(), product.getCreationDate(), product.getLastUpdate(), product.getVersion(),
+                stock == null ? null : StockInfo.of(stock));
+    }
+
+    public record StockInfo(Long id, int quantity, String location, LocalDateTime lastUpdate, Long version) {
+
+        static StockInfo of(Stock stock) {
+            return new StockInfo(stock.getId(), stock.getQuantity(), stock.getLocation(), stock.getLastUpdate(),
+                    stock.getVersion());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gerze.prueba.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+public record ResourceVersion(String tag, LocalDateTime lastModified) {
+
+    public static ResourceVersion ofProduct(long version, Long stockId, Long stockVersion,
+            LocalDateTime lastModified) {
+        String tag = stockId == null ? String.valueOf(version) : version + "." + stockId + "." + stockVersion;
+        return new ResourceVersion(tag, lastModified);
+    }
+
+    public static ResourceVersion ofStock(long version, long productVersion, LocalDateTime lastModified) {
+        return new ResourceVersion(version + "." + productVersion, lastModified);
+    }
+
+    public static ResourceVersion of(Product product) {
+        Stock stock = product.getStock();
+        if (stock == null) {
+            return ofProduct(product.getVersion(), null, null, product.getLastUpdate());
+        }
+        return ofProduct(product.getVersion(), stock.getId(), stock.getVersion(),
+                latest(product.getLastUpdate(), stock.getLastUpdate()));
+    }
+
+    public static ResourceVersion of(Stock stock) {
+        Product product = stock.getProduct();
+        return ofStock(stock.getVersion(), product.getVersion(), latest(stock.getLastUpdate(), product.getLastUpdate()));
+    }
+
+    public static ResourceVersion of(ProductView product) {
+        ProductView.StockInfo stock = product.stock();
+        if (stock == null) {
+            return ofProduct(product.version(), null, null, product.lastUpdate());
+        }
+        return ofProduct(product.version(), stock.id(), stock.version(),
+                latest(product.lastUpdate(), stock.lastUpdate()));
+    }
+
+    public static ResourceVersion of(StockView stock) {
+        StockView.ProductInfo product = stock.product();
+        return ofStock(stock.version(), product.version(), latest(stock.lastUpdate(), product.lastUpdate()));
+    }
+
+    public String eTag() {
+        return "\"" + tag + "\"";
+    }
+
+    public boolean matches(String ifMatch) {
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag()));
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null || (second != null && second.isAfter(first))) {
+            return second;
+        }
+        return first;
+    }
+}
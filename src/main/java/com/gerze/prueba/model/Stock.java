@@ -2,7 +2,7 @@ package com.gerze.prueba.model;
 
 import java.time.LocalDateTime;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -14,6 +14,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -34,7 +35,6 @@ public class Stock {
 
     @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "producto_id", nullable = false, unique = true, foreignKey = @ForeignKey(name = "fk_stock_producto"))
-    @JsonIgnoreProperties({"stock", "hibernateLazyInitializer", "handler"})
     private Product product;
 
     @Column(name = "cantidad", nullable = false)
@@ -43,6 +43,11 @@ public class Stock {
     @Column(name = "ubicacion")
     private String location;
 
-    @Column(name = "ultima_actualizacion", insertable = false, updatable = false)
+    @UpdateTimestamp
+    @Column(name = "ultima_actualizacion", nullable = false)
     private LocalDateTime lastUpdate;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
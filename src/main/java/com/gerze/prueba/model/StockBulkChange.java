@@ -0,0 +1,8 @@
+package com.gerze.prueba.model;
+
+public record StockBulkChange(Long productId, Integer quantity, int delta, String location) {
+
+    public long resultingQuantity(int current) {
+        return (quantity != null ? (long) quantity : current) + delta;
+    }
+}
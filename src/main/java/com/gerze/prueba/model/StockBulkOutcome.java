@@ -0,0 +1,34 @@
+package com.gerze.prueba.model;
+
+import java.util.List;
+
+public record StockBulkOutcome(Status status, StockQuantity stock, List<String> errors) {
+
+    public enum Status {
+        UPDATED,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND,
+        INVALID,
+        ERROR
+    }
+
+    public static StockBulkOutcome updated(StockQuantity stock) {
+        return new StockBulkOutcome(Status.UPDATED, stock, List.of());
+    }
+
+    public static StockBulkOutcome insufficient(StockQuantity stock) {
+        return new StockBulkOutcome(Status.INSUFFICIENT_STOCK, stock, List.of());
+    }
+
+    public static StockBulkOutcome notFound() {
+        return new StockBulkOutcome(Status.NOT_FOUND, null, List.of());
+    }
+
+    public static StockBulkOutcome invalid(StockQuantity stock, String error) {
+        return new StockBulkOutcome(Status.INVALID, stock, List.of(error));
+    }
+
+    public static StockBulkOutcome error(String error) {
+        return new StockBulkOutcome(Status.ERROR, null, List.of(error));
+    }
+}
@@ -0,0 +1,4 @@
+package com.gerze.prueba.model;
+
+public record StockChange(String type, Long stockId, Long productId, Integer quantity, Long version) {
+}
@@ -0,0 +1,4 @@
+package com.gerze.prueba.model;
+
+public record StockQuantity(Long stockId, Long productId, int quantity) {
+}
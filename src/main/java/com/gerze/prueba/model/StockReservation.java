@@ -0,0 +1,22 @@
+package com.gerze.prueba.model;
+
+public record StockReservation(Status status, StockQuantity stock) {
+
+    public enum Status {
+        RESERVED,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND
+    }
+
+    public static StockReservation reserved(StockQuantity stock) {
+        return new StockReservation(Status.RESERVED, stock);
+    }
+
+    public static StockReservation insufficient(StockQuantity stock) {
+        return new StockReservation(Status.INSUFFICIENT_STOCK, stock);
+    }
+
+    public static StockReservation notFound() {
+        return new StockReservation(Status.NOT_FOUND, null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.gerze.prueba.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record StockSummary(
+        long products,
+        long units,
+        BigDecimal value,
+        long zeroStockProducts,
+        List<LocationSummary> locations) {
+
+    public static StockSummary of(List<LocationSummary> locations) {
+        long products = 0;
+        long units = 0;
+        BigDecimal value = BigDecimal.ZERO;
+        long zeroStockProducts = 0;
+        for (LocationSummary location : locations) {
+            products += location.products();
+            units += location.units();
+            value = value.add(location.value());
+            zeroStockProducts += location.zeroStockProducts();
+        }
+        return new StockSummary(products, units, value, zeroStockProducts, locations);
+    }
+
+    public record LocationSummary(
+            String location,
+            long products,
+            long units,
+            BigDecimal value,
+            long zeroStockProducts) {
+    }
+}
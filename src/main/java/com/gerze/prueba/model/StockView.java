@@ -0,0 +1,43 @@
+package com.gerze.prueba.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record StockView(
+        Long id,
+        ProductInfo product,
+        int quantity,
+        String location,
+        LocalDateTime lastUpdate,
+        Long version) {
+
+    public StockView(Long id, Integer quantity, String location, LocalDateTime lastUpdate, Long version,
+            Long productId, String productName, String productDescription, BigDecimal productPrice,
+            Boolean productState, LocalDateTime productCreationDate, LocalDateTime productLastUpdate,
+            Long productVersion) {
+        this(id, new ProductInfo(productId, productName, productDescription, productPrice, productState,
+                productCreationDate, productLastUpdate, productVersion), quantity, location, lastUpdate, version);
+    }
+
+    public static StockView of(Stock stock) {
+        Product product = stock.getProduct();
+        return new StockView(stock.getId(), ProductInfo.of(product), stock.getQuantity(), stock.getLocation(),
+                stock.getLastUpdate(), stock.getVersion());
+    }
+
+    public record ProductInfo(
+            Long id,
+            String name,
+            String description,
+            BigDecimal price,
+            Boolean state,
+            LocalDateTime creationDate,
+            LocalDateTime lastUpdate,
+            Long version) {
+
+        static ProductInfo of(Product product) {
+            return new ProductInfo(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                    product.getState(), product.getCreationDate(), product.getLastUpdate(), product.getVersion());
+        }
+    }
+}
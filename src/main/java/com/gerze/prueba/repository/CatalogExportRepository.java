@@ -0,0 +1,47 @@
+package com.gerze.prueba.repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class CatalogExportRepository {
+
+    private static final String COPY_CATALOG = """
+            copy (
+                select p.id, p.nombre as name, p.descripcion as description, p.precio as price,
+                       p.fecha_creacion as creation_date, p.ultima_actualizacion as last_update,
+                       s.id as stock_id, s.cantidad as stock_quantity, s.ubicacion as stock_location,
+                       s.ultima_actualizacion as stock_last_update
+                  from productos p
+                  left join stock s on s.producto_id = p.id
+                 where p.estado = true
+                 order by p.id
+            ) to stdout with (format csv, header true)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long copyCatalog(OutputStream outputStream) throws IOException {
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(COPY_CATALOG, outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
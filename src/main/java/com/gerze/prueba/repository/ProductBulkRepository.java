@@ -0,0 +1,63 @@
+package com.gerze.prueba.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.controller.DTOs.ProductDTO;
+
+@Repository
+public class ProductBulkRepository {
+
+    private static final String NEXT_PRODUCT_IDS =
+            "select nextval(pg_get_serial_sequence('public.productos', 'id')) from generate_series(1, ?)";
+    private static final String INSERT_PRODUCT =
+            "insert into productos (id, nombre, descripcion, precio, estado) values (?, ?, ?, ?, true)";
+    private static final String INSERT_STOCK =
+            "insert into stock (producto_id, cantidad) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductBulkRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public int insertWithStock(List<ProductDTO> products, int initialQuantity) {
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_PRODUCT_IDS, Long.class, products.size());
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductDTO product = products.get(i);
+                ps.setLong(1, ids.get(i));
+                ps.setString(2, product.getName());
+                ps.setString(3, product.getDescription());
+                ps.setBigDecimal(4, product.getPrice());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+        jdbcTemplate.batchUpdate(INSERT_STOCK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+                ps.setInt(2, initialQuantity);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+        return products.size();
+    }
+}
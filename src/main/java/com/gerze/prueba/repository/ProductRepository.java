@@ -1,11 +1,43 @@
 package com.gerze.prueba.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductSummary;
+import com.gerze.prueba.model.ProductView;
+
+import jakarta.persistence.QueryHint;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findAllByStateTrue();
+
+    String PRODUCT_VIEW = "select new com.gerze.prueba.model.ProductView(p.id, p.name, p.description, p.price, "
+            + "p.state, p.creationDate, p.lastUpdate, p.version, s.id, s.quantity, s.location, s.lastUpdate, s.version) "
+            + "from Product p left join p.stock s ";
+
+    @EntityGraph(attributePaths = "stock")
+    Optional<Product> findByIdAndStateTrue(Long id);
+
+    @Query(PRODUCT_VIEW + "where p.state = true and p.id = :id")
+    Optional<ProductView> findViewById(@Param("id") Long id);
+
+    @Query(PRODUCT_VIEW + "where p.state = true and p.id > :after order by p.id")
+    List<ProductView> findViewsAfter(@Param("after") Long after, Limit limit);
+
+    @Query(PRODUCT_VIEW + "where p.state = true order by p.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductView> streamAllViews();
+
+    @Query("select new com.gerze.prueba.model.ProductSummary(p.id, p.name, p.description, p.price, p.creationDate) "
+            + "from Product p where p.state = true and p.id > :after order by p.id")
+    List<ProductSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
 }
@@ -0,0 +1,56 @@
+package com.gerze.prueba.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.gerze.prueba.model.ProductSearchMode;
+import com.gerze.prueba.model.ProductSummary;
+
+@Repository
+public class ProductSearchRepository {
+
+    private static final String SEARCH_BY_PATTERN = """
+            select id, nombre, descripcion, precio, fecha_creacion
+              from productos
+             where estado = true and (nombre ilike ? or descripcion ilike ?)
+             order by nombre ilike ? desc, similarity(nombre, ?) desc, id
+             limit ? offset ?
+            """;
+    private static final String SEARCH_FULLTEXT = """
+            select id, nombre, descripcion, precio, fecha_creacion
+              from productos, websearch_to_tsquery('spanish', ?) consulta
+             where estado = true and busqueda @@ consulta
+             order by ts_rank(busqueda, consulta) desc, id
+             limit ? offset ?
+            """;
+
+    private static final RowMapper<ProductSummary> PRODUCT_SUMMARY = (rs, rowNum) -> new ProductSummary(
+            rs.getLong("id"),
+            rs.getString("nombre"),
+            rs.getString("descripcion"),
+            rs.getBigDecimal("precio"),
+            rs.getObject("fecha_creacion", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ProductSummary> search(String query, ProductSearchMode mode, int limit, int offset) {
+        if (mode == ProductSearchMode.FULLTEXT) {
+            return jdbcTemplate.query(SEARCH_FULLTEXT, PRODUCT_SUMMARY, query, limit, offset);
+        }
+        String escaped = escapeLike(query);
+        String pattern = mode == ProductSearchMode.PREFIX ? escaped + "%" : "%" + escaped + "%";
+        return jdbcTemplate.query(SEARCH_BY_PATTERN, PRODUCT_SUMMARY, pattern, pattern, pattern, query, limit, offset);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,49 @@
+package com.gerze.prueba.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.gerze.prueba.model.ProductDeactivation;
+
+@Repository
+public class ProductStateRepository {
+
+    private static final String DEACTIVATE = """
+            with desactivados as (
+                update productos
+                   set estado = false, version = version + 1, ultima_actualizacion = current_timestamp
+                 where id = any(?) and estado = true
+                returning id
+            ), vaciados as (
+                update stock s
+                   set cantidad = 0, version = s.version + 1, ultima_actualizacion = current_timestamp
+                  from desactivados d
+                 where s.producto_id = d.id
+                returning s.id, s.producto_id
+            )
+            select d.id as producto_id, v.id::bigint as stock_id
+              from desactivados d
+              left join vaciados v on v.producto_id = d.id
+             order by d.id
+            """;
+
+    private static final RowMapper<ProductDeactivation> PRODUCT_DEACTIVATION = (rs, rowNum) ->
+            new ProductDeactivation(rs.getLong("producto_id"), rs.getObject("stock_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ProductDeactivation> deactivate(Collection<Long> productIds) {
+        Long[] ids = productIds.toArray(Long[]::new);
+        return jdbcTemplate.query(DEACTIVATE,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                PRODUCT_DEACTIVATION);
+    }
+}
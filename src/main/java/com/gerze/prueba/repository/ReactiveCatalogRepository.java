@@ -0,0 +1,123 @@
+package com.gerze.prueba.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.StockView;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class ReactiveCatalogRepository {
+
+    private static final String PRODUCT_VIEW = """
+            select p.id, p.nombre, p.descripcion, p.precio, p.estado, p.fecha_creacion, p.ultima_actualizacion,
+                   p.version, s.id as stock_id, s.cantidad as stock_cantidad, s.ubicacion as stock_ubicacion,
+                   s.ultima_actualizacion as stock_ultima_actualizacion, s.version as stock_version
+              from productos p
+              left join stock s on s.producto_id = p.id
+             where p.estado = true
+            """;
+    private static final String STOCK_VIEW = """
+            select s.id, s.cantidad, s.ubicacion, s.ultima_actualizacion, s.version, p.id as producto_id,
+                   p.nombre as producto_nombre, p.descripcion as producto_descripcion, p.precio as producto_precio,
+                   p.estado as producto_estado, p.fecha_creacion as producto_fecha_creacion,
+                   p.ultima_actualizacion as producto_ultima_actualizacion, p.version as producto_version
+              from stock s
+              join productos p on p.id = s.producto_id
+             where p.estado = true
+            """;
+
+    private static final BiFunction<Row, RowMetadata, ProductView> PRODUCT_VIEW_MAPPER = (row, metadata) ->
+            new ProductView(
+                    row.get("id", Long.class),
+                    row.get("nombre", String.class),
+                    row.get("descripcion", String.class),
+                    row.get("precio", BigDecimal.class),
+                    row.get("estado", Boolean.class),
+                    row.get("fecha_creacion", LocalDateTime.class),
+                    row.get("ultima_actualizacion", LocalDateTime.class),
+                    row.get("version", Long.class),
+                    row.get("stock_id", Long.class),
+                    row.get("stock_cantidad", Integer.class),
+                    row.get("stock_ubicacion", String.class),
+                    row.get("stock_ultima_actualizacion", LocalDateTime.class),
+                    row.get("stock_version", Long.class));
+    private static final BiFunction<Row, RowMetadata, StockView> STOCK_VIEW_MAPPER = (row, metadata) ->
+            new StockView(
+                    row.get("id", Long.class),
+                    row.get("cantidad", Integer.class),
+                    row.get("ubicacion", String.class),
+                    row.get("ultima_actualizacion", LocalDateTime.class),
+                    row.get("version", Long.class),
+                    row.get("producto_id", Long.class),
+                    row.get("producto_nombre", String.class),
+                    row.get("producto_descripcion", String.class),
+                    row.get("producto_precio", BigDecimal.class),
+                    row.get("producto_estado", Boolean.class),
+                    row.get("producto_fecha_creacion", LocalDateTime.class),
+                    row.get("producto_ultima_actualizacion", LocalDateTime.class),
+                    row.get("producto_version", Long.class));
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient,
+            @Value("${app.r2dbc.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<ProductView> findProductById(Long id) {
+        return databaseClient.sql(PRODUCT_VIEW + " and p.id = :id")
+                .bind("id", id)
+                .map(PRODUCT_VIEW_MAPPER)
+                .one();
+    }
+
+    public Flux<ProductView> findProductsAfter(long after, int limit) {
+        return databaseClient.sql(PRODUCT_VIEW + " and p.id > :after order by p.id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(PRODUCT_VIEW_MAPPER)
+                .all();
+    }
+
+    public Flux<ProductView> streamAllProducts() {
+        return databaseClient.sql(PRODUCT_VIEW + " order by p.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(PRODUCT_VIEW_MAPPER)
+                .all();
+    }
+
+    public Mono<StockView> findStockById(Long id) {
+        return databaseClient.sql(STOCK_VIEW + " and s.id = :id")
+                .bind("id", id)
+                .map(STOCK_VIEW_MAPPER)
+                .one();
+    }
+
+    public Flux<StockView> findStocksAfter(long after, int limit) {
+        return databaseClient.sql(STOCK_VIEW + " and s.id > :after order by s.id limit :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(STOCK_VIEW_MAPPER)
+                .all();
+    }
+
+    public Flux<StockView> streamAllStocks() {
+        return databaseClient.sql(STOCK_VIEW + " order by s.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(STOCK_VIEW_MAPPER)
+                .all();
+    }
+}
@@ -0,0 +1,118 @@
+package com.gerze.prueba.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.gerze.prueba.model.StockBulkChange;
+import com.gerze.prueba.model.StockQuantity;
+
+@Repository
+public class StockQuantityRepository {
+
+    private static final String ADJUST_BY_ID = """
+            update stock s
+               set cantidad = s.cantidad + ?, version = s.version + 1, ultima_actualizacion = current_timestamp
+              from productos p
+             where s.id = ? and p.id = s.producto_id and p.estado = true
+               and s.cantidad + ?::bigint between 0 and 2147483647
+            returning s.id, s.producto_id, s.cantidad
+            """;
+    private static final String ADJUST_BY_PRODUCT_ID = """
+            update stock s
+               set cantidad = s.cantidad + ?, version = s.version + 1, ultima_actualizacion = current_timestamp
+              from productos p
+             where s.producto_id = ? and p.id = s.producto_id and p.estado = true
+               and s.cantidad + ?::bigint between 0 and 2147483647
+            returning s.id, s.producto_id, s.cantidad
+            """;
+
+    private static final String LOCK_ACTIVE_BY_PRODUCT_IDS = """
+            select s.id, s.producto_id, s.cantidad
+              from stock s
+              join productos p on p.id = s.producto_id
+             where s.producto_id = any(?) and p.estado = true
+             order by s.producto_id
+               for update of s
+            """;
+    private static final String ADD_BY_PRODUCT_ID = """
+            update stock set cantidad = cantidad + ?, version = version + 1, ultima_actualizacion = current_timestamp
+             where producto_id = ?
+            """;
+
+    private static final String SET_BY_PRODUCT_IDS = """
+            update stock s
+               set cantidad = c.cantidad,
+                   ubicacion = coalesce(c.ubicacion, s.ubicacion),
+                   version = s.version + 1,
+                   ultima_actualizacion = current_timestamp
+              from unnest(?::bigint[], ?::integer[], ?::text[]) as c(producto_id, cantidad, ubicacion)
+             where s.producto_id = c.producto_id
+            """;
+
+    private static final RowMapper<StockQuantity> STOCK_QUANTITY = (rs, rowNum) ->
+            new StockQuantity(rs.getLong("id"), rs.getLong("producto_id"), rs.getInt("cantidad"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockQuantityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<StockQuantity> adjustById(Long stockId, int delta) {
+        return jdbcTemplate.query(ADJUST_BY_ID, STOCK_QUANTITY, delta, stockId, delta).stream().findFirst();
+    }
+
+    public Optional<StockQuantity> adjustByProductId(Long productId, int delta) {
+        return jdbcTemplate.query(ADJUST_BY_PRODUCT_ID, STOCK_QUANTITY, delta, productId, delta).stream().findFirst();
+    }
+
+    public Map<Long, StockQuantity> lockActiveByProductIds(Collection<Long> productIds) {
+        Long[] ids = productIds.toArray(Long[]::new);
+        return jdbcTemplate.query(LOCK_ACTIVE_BY_PRODUCT_IDS,
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                        STOCK_QUANTITY)
+                .stream()
+                .collect(Collectors.toMap(StockQuantity::productId, Function.identity()));
+    }
+
+    public void setByProductIds(Collection<StockBulkChange> changes) {
+        Long[] productIds = changes.stream().map(StockBulkChange::productId).toArray(Long[]::new);
+        Integer[] quantities = changes.stream().map(StockBulkChange::quantity).toArray(Integer[]::new);
+        String[] locations = changes.stream().map(StockBulkChange::location).toArray(String[]::new);
+        jdbcTemplate.update(SET_BY_PRODUCT_IDS, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", productIds));
+            ps.setArray(2, connection.createArrayOf("integer", quantities));
+            ps.setArray(3, connection.createArrayOf("text", locations));
+        });
+    }
+
+    public void addByProductIds(Map<Long, Integer> deltasByProductId) {
+        List<Map.Entry<Long, Integer>> deltas = new ArrayList<>(deltasByProductId.entrySet());
+        jdbcTemplate.batchUpdate(ADD_BY_PRODUCT_ID, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, deltas.get(i).getValue());
+                ps.setLong(2, deltas.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+}
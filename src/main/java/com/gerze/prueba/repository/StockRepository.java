@@ -1,11 +1,39 @@
 package com.gerze.prueba.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockView;
 
 public interface StockRepository extends JpaRepository<Stock, Long> {
+
+    String STOCK_VIEW = "select new com.gerze.prueba.model.StockView(s.id, s.quantity, s.location, s.lastUpdate, "
+            + "s.version, p.id, p.name, p.description, p.price, p.state, p.creationDate, p.lastUpdate, p.version) "
+            + "from Stock s join s.product p ";
+
+    @Override
+    @EntityGraph(attributePaths = "product")
+    Optional<Stock> findById(Long id);
+
+    @EntityGraph(attributePaths = "product")
+    Optional<Stock> findByIdAndProductStateTrue(Long id);
+
     Optional<Stock> findByProductId(Long productId);
+
+    boolean existsByIdAndProductStateTrue(Long id);
+
+    boolean existsByProductIdAndProductStateTrue(Long productId);
+
+    @Query(STOCK_VIEW + "where p.state = true and s.id = :id")
+    Optional<StockView> findViewById(@Param("id") Long id);
+
+    @Query(STOCK_VIEW + "where p.state = true and s.id > :after order by s.id")
+    List<StockView> findViewsAfter(@Param("after") Long after, Limit limit);
 }
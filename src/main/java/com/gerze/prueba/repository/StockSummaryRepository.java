@@ -0,0 +1,134 @@
+package com.gerze.prueba.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.gerze.prueba.model.StockSummary.LocationSummary;
+
+@Repository
+public class StockSummaryRepository {
+
+    private static final String LOCATIONS = """
+            select nullif(ubicacion, '') as ubicacion, productos, unidades, valor, sin_stock
+              from stock_resumen_vigente
+             where productos > 0
+             order by ubicacion
+            """;
+    private static final String TRY_LOCK_RECONCILIATION =
+            "select pg_try_advisory_xact_lock(hashtext('stock_resumen'))";
+    private static final String DRIFTED_LOCATIONS = """
+            with esperado as (
+                select ubicacion, count(*) filter (where activo) as productos, sum(unidades) as unidades,
+                       sum(valor) as valor, count(*) filter (where activo and unidades = 0) as sin_stock
+                  from stock_aportes
+                 group by ubicacion
+            )
+            select nullif(coalesce(e.ubicacion, r.ubicacion), '') as ubicacion
+              from esperado e
+              full join stock_resumen_vigente r on r.ubicacion = e.ubicacion
+             where (coalesce(e.productos, 0), coalesce(e.unidades, 0), coalesce(e.valor, 0), coalesce(e.sin_stock, 0))
+                   <> (coalesce(r.productos, 0), coalesce(r.unidades, 0), coalesce(r.valor, 0), coalesce(r.sin_stock, 0))
+             order by 1
+            """;
+    private static final String FOLD_DELTAS = """
+            with plegados as (
+                delete from stock_resumen_deltas
+                returning ubicacion, productos, unidades, valor, sin_stock
+            )
+            insert into stock_resumen as r (ubicacion, productos, unidades, valor, sin_stock)
+            select ubicacion, sum(productos), sum(unidades), sum(valor), sum(sin_stock)
+              from plegados
+             group by ubicacion
+             order by ubicacion
+            on conflict (ubicacion) do update
+               set productos = r.productos + excluded.productos,
+                   unidades = r.unidades + excluded.unidades,
+                   valor = r.valor + excluded.valor,
+                   sin_stock = r.sin_stock + excluded.sin_stock
+            """;
+    private static final String LOCK_CONTRIBUTIONS = "lock table stock_resumen_filas in exclusive mode";
+    private static final String REPAIR_CONTRIBUTIONS = """
+            with borradas as (
+                delete from stock_resumen_filas f
+                 where not exists (select 1 from stock_aportes a where a.stock_id = f.stock_id)
+            )
+            insert into stock_resumen_filas as f (stock_id, ubicacion, activo, unidades, valor)
+            select stock_id, ubicacion, activo, unidades, valor
+              from stock_aportes
+             order by stock_id
+            on conflict (stock_id) do update
+               set ubicacion = excluded.ubicacion,
+                   activo = excluded.activo,
+                   unidades = excluded.unidades,
+                   valor = excluded.valor
+             where (f.ubicacion, f.activo, f.unidades, f.valor)
+                   is distinct from (excluded.ubicacion, excluded.activo, excluded.unidades, excluded.valor)
+            """;
+    private static final String REPAIR_LOCATIONS = """
+            with esperado as (
+                select ubicacion, count(*) filter (where activo) as productos, sum(unidades) as unidades,
+                       sum(valor) as valor, count(*) filter (where activo and unidades = 0) as sin_stock
+                  from stock_resumen_filas
+                 group by ubicacion
+            ), diferencias as (
+                select coalesce(e.ubicacion, r.ubicacion) as ubicacion,
+                       coalesce(e.productos, 0) as productos,
+                       coalesce(e.unidades, 0) as unidades,
+                       coalesce(e.valor, 0) as valor,
+                       coalesce(e.sin_stock, 0) as sin_stock
+                  from esperado e
+                  full join stock_resumen r on r.ubicacion = e.ubicacion
+                 where (coalesce(e.productos, 0), coalesce(e.unidades, 0), coalesce(e.valor, 0), coalesce(e.sin_stock, 0))
+                       <> (coalesce(r.productos, 0), coalesce(r.unidades, 0), coalesce(r.valor, 0), coalesce(r.sin_stock, 0))
+            ), corregidas as (
+                insert into stock_resumen as r (ubicacion, productos, unidades, valor, sin_stock)
+                select * from diferencias order by ubicacion
+                on conflict (ubicacion) do update
+                   set productos = excluded.productos,
+                       unidades = excluded.unidades,
+                       valor = excluded.valor,
+                       sin_stock = excluded.sin_stock
+                returning r.ubicacion
+            )
+            select nullif(ubicacion, '') as ubicacion from corregidas order by 1
+            """;
+
+    private static final RowMapper<LocationSummary> LOCATION_SUMMARY = (rs, rowNum) -> new LocationSummary(
+            rs.getString("ubicacion"),
+            rs.getLong("productos"),
+            rs.getLong("unidades"),
+            rs.getBigDecimal("valor"),
+            rs.getLong("sin_stock"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockSummaryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<LocationSummary> findLocations() {
+        return jdbcTemplate.query(LOCATIONS, LOCATION_SUMMARY);
+    }
+
+    public boolean tryLockReconciliation() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_RECONCILIATION, Boolean.class));
+    }
+
+    public List<String> findDriftedLocations() {
+        return jdbcTemplate.queryForList(DRIFTED_LOCATIONS, String.class);
+    }
+
+    public int foldDeltas() {
+        return jdbcTemplate.update(FOLD_DELTAS);
+    }
+
+    public List<String> repair() {
+        jdbcTemplate.execute(LOCK_CONTRIBUTIONS);
+        foldDeltas();
+        jdbcTemplate.update(REPAIR_CONTRIBUTIONS);
+        return jdbcTemplate.queryForList(REPAIR_LOCATIONS, String.class);
+    }
+}
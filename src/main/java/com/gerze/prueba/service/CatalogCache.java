@@ -0,0 +1,101 @@
+package com.gerze.prueba.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockQuantity;
+
+@Component
+public class CatalogCache {
+
+    private final CacheManager cacheManager;
+
+    public CatalogCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evictProduct(Product product) {
+        evictProductEntry(product.getId());
+        if (product.getStock() != null) {
+            evictStockEntry(product.getStock().getId());
+        }
+        evictProductPages();
+    }
+
+    public void evictProduct(Long productId, Long stockId) {
+        evictProductEntry(productId);
+        evictStockEntry(stockId);
+        evictProductPages();
+    }
+
+    public void evictStock(Stock stock) {
+        evictStock(stock.getId(), stock.getProduct() != null ? stock.getProduct().getId() : null);
+    }
+
+    public void evictStock(Long stockId, Long productId) {
+        evictStockEntry(stockId);
+        evictProductEntry(productId);
+        if (productId == null) {
+            evictProductPages();
+        } else {
+            evictProductPagesContaining(Set.of(productId));
+        }
+    }
+
+    public void evictStocks(Collection<StockQuantity> stocks) {
+        stocks.forEach(stock -> {
+            evictStockEntry(stock.stockId());
+            evictProductEntry(stock.productId());
+        });
+        evictProductPagesContaining(stocks.stream().map(StockQuantity::productId).collect(Collectors.toSet()));
+    }
+
+    public void evictProductPages() {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCT_PAGES);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evictProductPagesContaining(Set<Long> productIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCT_PAGES);
+        if (cache == null || productIds.isEmpty()) {
+            return;
+        }
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> pages)) {
+            cache.clear();
+            return;
+        }
+        pages.asMap().forEach((key, page) -> {
+            if (page instanceof List<?> views && views.stream()
+                    .anyMatch(view -> view instanceof ProductView product && productIds.contains(product.id()))) {
+                cache.evict(key);
+            }
+        });
+    }
+
+    private void evictProductEntry(Long productId) {
+        evict(CacheConfig.PRODUCTS, productId);
+    }
+
+    private void evictStockEntry(Long stockId) {
+        evict(CacheConfig.STOCKS, stockId);
+    }
+
+    private void evict(String cacheName, Long key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
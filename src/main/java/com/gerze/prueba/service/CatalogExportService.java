@@ -0,0 +1,30 @@
+package com.gerze.prueba.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.repository.CatalogExportRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class CatalogExportService {
+
+    private final CatalogExportRepository catalogExportRepository;
+
+    public CatalogExportService(CatalogExportRepository catalogExportRepository) {
+        this.catalogExportRepository = catalogExportRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCatalog(OutputStream outputStream) throws IOException {
+        long started = System.nanoTime();
+        long rows = catalogExportRepository.copyCatalog(outputStream);
+        log.info("Catálogo exportado: {} filas en {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+}
@@ -0,0 +1,129 @@
+package com.gerze.prueba.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.gerze.prueba.controller.DTOs.ProductDTO;
+import com.gerze.prueba.controller.DTOs.ProductImportResultDTO;
+import com.gerze.prueba.repository.ProductBulkRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final int INITIAL_STOCK = 1;
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Autowired
+    private ProductBulkRepository productBulkRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.products.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.products.bulk.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ProductImportResultDTO importJson(InputStream inputStream) throws IOException {
+        return importRows(objectMapper.readerFor(ProductDTO.class).readValues(inputStream));
+    }
+
+    public ProductImportResultDTO importCsv(InputStream inputStream) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        return importRows(csvMapper.readerFor(ProductDTO.class).with(schema).readValues(inputStream));
+    }
+
+    private ProductImportResultDTO importRows(MappingIterator<ProductDTO> rows) throws IOException {
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        List<ProductDTO> batch = new ArrayList<>(batchSize);
+        List<Long> batchRows = new ArrayList<>(batchSize);
+        long row = 0;
+        try (rows) {
+            while (true) {
+                ProductDTO product;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    product = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    result.addError(row, List.of(e.getOriginalMessage()), maxReportedErrors);
+                    continue;
+                } catch (JsonProcessingException e) {
+                    result.addError(row, List.of("Contenido mal formado: " + e.getOriginalMessage()), maxReportedErrors);
+                    break;
+                }
+
+                List<String> violations = validator.validate(product).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .toList();
+                if (!violations.isEmpty()) {
+                    result.addError(row, violations, maxReportedErrors);
+                    continue;
+                }
+
+                batch.add(product);
+                batchRows.add(row);
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, batchRows, result);
+                    batch.clear();
+                    batchRows.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, batchRows, result);
+        }
+        if (result.getImported() > 0) {
+            catalogCache.evictProductPages();
+        }
+        return result;
+    }
+
+    private void insertBatch(List<ProductDTO> batch, List<Long> rows, ProductImportResultDTO result) {
+        try {
+            result.addImported(productBulkRepository.insertWithStock(batch, INITIAL_STOCK));
+            return;
+        } catch (DataAccessException e) {
+            log.warn("Falló un lote de {} productos, se reintenta fila por fila", batch.size(), e);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                result.addImported(productBulkRepository.insertWithStock(List.of(batch.get(i)), INITIAL_STOCK));
+            } catch (DataAccessException e) {
+                result.addError(rows.get(i), List.of("No se pudo guardar la fila: " + e.getMostSpecificCause().getMessage()),
+                        maxReportedErrors);
+            }
+        }
+    }
+}
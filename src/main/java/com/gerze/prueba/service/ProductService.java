@@ -1,17 +1,36 @@
 package com.gerze.prueba.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.config.UsePrimary;
 import com.gerze.prueba.controller.DTOs.ProductDTO;
 import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductDeactivation;
+import com.gerze.prueba.model.ProductSearchMode;
+import com.gerze.prueba.model.ProductSummary;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.ResourceVersion;
 import com.gerze.prueba.model.Stock;
 import com.gerze.prueba.repository.ProductRepository;
+import com.gerze.prueba.repository.ProductSearchRepository;
+import com.gerze.prueba.repository.ProductStateRepository;
 import com.gerze.prueba.repository.StockRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed(value = "catalog.service", histogram = true)
 public class ProductService {
     @Autowired
     private ProductRepository productRepository;
@@ -19,12 +38,23 @@ public class ProductService {
     @Autowired
     private StockRepository stockRepository;
 
-    public Product getProductById(Long id) {
-        return productRepository.findById(id)
-                .filter(product -> Boolean.TRUE.equals(product.getState()))
-                .orElse(null);
+    @Autowired
+    private ProductSearchRepository productSearchRepository;
+
+    @Autowired
+    private ProductStateRepository productStateRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    @UsePrimary
+    public ProductView getProductById(Long id) {
+        return productRepository.findViewById(id).orElse(null);
     }
 
+    @Transactional
     public Product createProduct(ProductDTO productDTO) {
         Product product = productDTO.toEntity();
         Product savedProduct = productRepository.save(product);
@@ -34,38 +64,66 @@ public class ProductService {
         stock.setQuantity(1);
         stockRepository.save(stock);
 
+        catalogCache.evictProductPages();
         return savedProduct;
     }
 
-    public List<Product> getAllProducts() {
-        return productRepository.findAllByStateTrue();
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, key = "#after + ':' + #limit")
+    @Transactional(readOnly = true)
+    @UsePrimary
+    public List<ProductView> getProducts(Long after, int limit) {
+        long cursor = after == null ? 0L : after;
+        return productRepository.findViewsAfter(cursor, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSummary> getProductSummaries(Long after, int limit) {
+        long cursor = after == null ? 0L : after;
+        return productRepository.findSummariesAfter(cursor, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSummary> searchProducts(String query, ProductSearchMode mode, int limit, int offset) {
+        return productSearchRepository.search(query.trim(), mode, limit, offset);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductView> consumer) {
+        try (Stream<ProductView> products = productRepository.streamAllViews()) {
+            products.forEach(consumer);
+        }
     }
 
     public Product updateProduct(Long id, ProductDTO productDTO) {
-        Product existingProduct = productRepository.findById(id)
-                .filter(product -> Boolean.TRUE.equals(product.getState()))
-                .orElse(null);
+        return updateProduct(id, productDTO, null);
+    }
+
+    @Transactional
+    public Product updateProduct(Long id, ProductDTO productDTO, String ifMatch) {
+        Product existingProduct = productRepository.findByIdAndStateTrue(id).orElse(null);
         if (existingProduct != null) {
+            if (ifMatch != null && !ResourceVersion.of(existingProduct).matches(ifMatch)) {
+                throw new OptimisticLockingFailureException("El producto " + id + " no coincide con If-Match " + ifMatch);
+            }
             existingProduct.setName(productDTO.getName());
             existingProduct.setDescription(productDTO.getDescription());
             existingProduct.setPrice(productDTO.getPrice());
-            return productRepository.save(existingProduct);
+            Product savedProduct = productRepository.save(existingProduct);
+            catalogCache.evictProduct(savedProduct);
+            return savedProduct;
         }
         return null;
     }
 
-    public void deleteProduct(Long id) {
-        productRepository.findById(id)
-                .filter(product -> Boolean.TRUE.equals(product.getState()))
-                .ifPresent(product -> {
-                    product.setState(false);
-                    productRepository.save(product);
-
-                    stockRepository.findByProductId(id)
-                            .ifPresent(stock -> {
-                                stock.setQuantity(0);
-                                stockRepository.save(stock);
-                            });
-                });
+    @Transactional
+    public boolean deleteProduct(Long id) {
+        return !deleteProducts(List.of(id)).isEmpty();
+    }
+
+    @Transactional
+    public List<Long> deleteProducts(Collection<Long> ids) {
+        List<ProductDeactivation> deactivated = productStateRepository.deactivate(ids);
+        deactivated.forEach(product -> catalogCache.evictProduct(product.productId(), product.stockId()));
+        return deactivated.stream().map(ProductDeactivation::productId).toList();
     }
 }
@@ -0,0 +1,48 @@
+package com.gerze.prueba.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.StockView;
+import com.gerze.prueba.repository.ReactiveCatalogRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveCatalogService {
+
+    private final ReactiveCatalogRepository reactiveCatalogRepository;
+
+    public ReactiveCatalogService(ReactiveCatalogRepository reactiveCatalogRepository) {
+        this.reactiveCatalogRepository = reactiveCatalogRepository;
+    }
+
+    public Mono<ProductView> getProductById(Long id) {
+        return reactiveCatalogRepository.findProductById(id);
+    }
+
+    public Mono<List<ProductView>> getProducts(Long after, int limit) {
+        long cursor = after == null ? 0L : after;
+        return reactiveCatalogRepository.findProductsAfter(cursor, limit).collectList();
+    }
+
+    public Flux<ProductView> streamAllProducts() {
+        return reactiveCatalogRepository.streamAllProducts();
+    }
+
+    public Mono<StockView> getStockById(Long id) {
+        return reactiveCatalogRepository.findStockById(id);
+    }
+
+    public Mono<List<StockView>> getStocks(Long after, int limit) {
+        long cursor = after == null ? 0L : after;
+        return reactiveCatalogRepository.findStocksAfter(cursor, limit).collectList();
+    }
+
+    public Flux<StockView> streamAllStocks() {
+        return reactiveCatalogRepository.streamAllStocks();
+    }
+}
@@ -0,0 +1,165 @@
+package com.gerze.prueba.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerze.prueba.controller.DTOs.StockBulkItemDTO;
+import com.gerze.prueba.controller.DTOs.StockBulkResultDTO;
+import com.gerze.prueba.model.StockBulkChange;
+import com.gerze.prueba.model.StockBulkOutcome;
+import com.gerze.prueba.model.StockQuantity;
+import com.gerze.prueba.repository.StockQuantityRepository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Timed(value = "catalog.service", histogram = true)
+public class StockBulkService {
+
+    @Autowired
+    private StockQuantityRepository stockQuantityRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.stock.bulk.chunk-size:5000}")
+    private int chunkSize;
+
+    public StockBulkResultDTO applyJson(InputStream inputStream) throws IOException {
+        StockBulkResultDTO result = new StockBulkResultDTO();
+        List<NumberedItem> chunk = new ArrayList<>(chunkSize);
+        long item = 0;
+        try (MappingIterator<StockBulkItemDTO> items = objectMapper.readerFor(StockBulkItemDTO.class)
+                .readValues(inputStream)) {
+            while (true) {
+                StockBulkItemDTO change;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    item++;
+                    change = items.nextValue();
+                } catch (JsonMappingException e) {
+                    result.addInvalid(item, null, List.of(e.getOriginalMessage()));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    result.addInvalid(item, null, List.of("Contenido mal formado: " + e.getOriginalMessage()));
+                    break;
+                }
+
+                List<String> violations = validator.validate(change).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .toList();
+                if (!violations.isEmpty()) {
+                    result.addInvalid(item, change.getProductId(), violations);
+                    continue;
+                }
+
+                chunk.add(new NumberedItem(item, change.toChange()));
+                if (chunk.size() >= chunkSize) {
+                    applyChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, result);
+        }
+        result.sortItems();
+        return result;
+    }
+
+    private void applyChunk(List<NumberedItem> chunk, StockBulkResultDTO result) {
+        Map<Long, StockQuantity> touched = new LinkedHashMap<>();
+        List<StockBulkOutcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> allocate(chunk, touched));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo aplicar un bloque de {} cambios de stock", chunk.size(), e);
+            for (NumberedItem numbered : chunk) {
+                result.addOutcome(numbered.item(), numbered.change().productId(),
+                        StockBulkOutcome.error("No se pudo aplicar el bloque que contiene este ítem"));
+            }
+            return;
+        }
+        catalogCache.evictStocks(touched.values());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            NumberedItem numbered = chunk.get(i);
+            result.addOutcome(numbered.item(), numbered.change().productId(), outcomes.get(i));
+        }
+    }
+
+    private List<StockBulkOutcome> allocate(List<NumberedItem> chunk, Map<Long, StockQuantity> touched) {
+        touched.clear();
+        Set<Long> productIds = chunk.stream()
+                .map(numbered -> numbered.change().productId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, StockQuantity> current = stockQuantityRepository.lockActiveByProductIds(productIds);
+        Map<Long, StockBulkChange> finalChanges = new LinkedHashMap<>();
+        List<StockBulkOutcome> outcomes = new ArrayList<>(chunk.size());
+
+        for (NumberedItem numbered : chunk) {
+            StockBulkChange change = numbered.change();
+            StockQuantity stock = current.get(change.productId());
+            if (stock == null) {
+                outcomes.add(StockBulkOutcome.notFound());
+                continue;
+            }
+            long quantity = change.resultingQuantity(stock.quantity());
+            if (quantity < 0) {
+                outcomes.add(StockBulkOutcome.insufficient(stock));
+            } else if (quantity > Integer.MAX_VALUE) {
+                outcomes.add(StockBulkOutcome.invalid(stock, "La cantidad resultante supera el máximo permitido"));
+            } else {
+                StockQuantity updated = new StockQuantity(stock.stockId(), stock.productId(), (int) quantity);
+                current.put(change.productId(), updated);
+                touched.put(change.productId(), updated);
+                String location = change.location();
+                if (location == null && finalChanges.containsKey(change.productId())) {
+                    location = finalChanges.get(change.productId()).location();
+                }
+                finalChanges.put(change.productId(),
+                        new StockBulkChange(change.productId(), updated.quantity(), 0, location));
+                outcomes.add(StockBulkOutcome.updated(updated));
+            }
+        }
+
+        if (!finalChanges.isEmpty()) {
+            stockQuantityRepository.setByProductIds(finalChanges.values());
+        }
+        return outcomes;
+    }
+
+    private record NumberedItem(long item, StockBulkChange change) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.gerze.prueba.service;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerze.prueba.model.StockChange;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class StockChangeFeed {
+
+    static final String CHANNEL = "stock_cambios";
+    private static final int LISTEN_POLL_MILLIS = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.stock.feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.stock.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.stock.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${app.stock.stream.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${app.stock.stream.reconnect-ms:1000}")
+    private long reconnectMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private Thread listener;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("stock-changes").daemon().start(this::listenLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        subscribers.forEach(this::unsubscribe);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = register(new ChangeSink() {
+            @Override
+            public void send(StockChange change) throws IOException {
+                emitter.send(SseEmitter.event().name("stock").data(change, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    Subscriber register(ChangeSink sink) {
+        Subscriber subscriber = new Subscriber(sink, new ArrayBlockingQueue<>(bufferSize));
+        subscriber.drainer = Thread.ofVirtual().name("stock-stream-subscriber").unstarted(() -> drain(subscriber));
+        subscribers.add(subscriber);
+        subscriber.drainer.start();
+        return subscriber;
+    }
+
+    void publish(StockChange change) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(change)) {
+                log.info("Suscriptor de stock lento: se descarta tras llenar su buffer de {} eventos", bufferSize);
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.drainer.interrupt();
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (subscribers.contains(subscriber)) {
+                StockChange change = subscriber.buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (change == null) {
+                    subscriber.sink.heartbeat();
+                } else {
+                    subscriber.sink.send(change);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Suscriptor de stock desconectado: {}", e.getMessage());
+        } finally {
+            subscribers.remove(subscriber);
+            subscriber.sink.close();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            StockChange change = parse(notification.getParameter());
+                            if (change != null) {
+                                publish(change);
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Se perdió la conexión LISTEN {}, reintentando en {} ms", CHANNEL, reconnectMillis, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private StockChange parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, StockChange.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Notificación de stock inválida: {}", payload, e);
+            return null;
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    interface ChangeSink {
+
+        void send(StockChange change) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void close();
+    }
+
+    static final class Subscriber {
+
+        private final ChangeSink sink;
+        private final BlockingQueue<StockChange> buffer;
+        private volatile Thread drainer;
+
+        private Subscriber(ChangeSink sink, BlockingQueue<StockChange> buffer) {
+            this.sink = sink;
+            this.buffer = buffer;
+        }
+    }
+}
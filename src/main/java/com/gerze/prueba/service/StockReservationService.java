@@ -0,0 +1,167 @@
+package com.gerze.prueba.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gerze.prueba.model.StockQuantity;
+import com.gerze.prueba.model.StockReservation;
+import com.gerze.prueba.repository.StockQuantityRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class StockReservationService {
+
+    @Autowired
+    private StockQuantityRepository stockQuantityRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.stock.reservations.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.stock.reservations.window-millis:2}")
+    private long windowMillis;
+
+    @Value("${app.stock.reservations.max-batch-size:256}")
+    private int maxBatchSize;
+
+    @Value("${app.stock.reservations.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingReservation> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("stock-reservations").daemon().start(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public CompletableFuture<StockReservation> reserve(Long productId, int quantity) {
+        PendingReservation pending = new PendingReservation(productId, quantity, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            pending.result().completeExceptionally(new RejectedExecutionException("La cola de reservas está llena"));
+        }
+        return pending.result();
+    }
+
+    private void drainLoop() {
+        List<PendingReservation> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingReservation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queue.drainTo(batch);
+            CancellationException cancelled = new CancellationException("El servicio de reservas se detuvo");
+            batch.forEach(pending -> pending.result().completeExceptionally(cancelled));
+        }
+    }
+
+    private void flush(List<PendingReservation> batch) {
+        Map<Long, List<PendingReservation>> byProduct = batch.stream()
+                .collect(Collectors.groupingBy(PendingReservation::productId, LinkedHashMap::new, Collectors.toList()));
+        Map<PendingReservation, StockReservation> outcomes = new IdentityHashMap<>();
+        List<StockQuantity> touched;
+        try {
+            touched = transactionTemplate.execute(status -> allocate(byProduct, outcomes));
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron aplicar {} reservas de stock", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+        touched.forEach(stock -> catalogCache.evictStock(stock.stockId(), stock.productId()));
+        outcomes.forEach((pending, outcome) -> pending.result().complete(outcome));
+    }
+
+    private List<StockQuantity> allocate(Map<Long, List<PendingReservation>> byProduct,
+            Map<PendingReservation, StockReservation> outcomes) {
+        outcomes.clear();
+        Map<Long, StockQuantity> locked = stockQuantityRepository.lockActiveByProductIds(byProduct.keySet());
+        Map<Long, Integer> netDeltas = new HashMap<>();
+        List<StockQuantity> touched = new ArrayList<>();
+
+        byProduct.forEach((productId, reservations) -> {
+            StockQuantity stock = locked.get(productId);
+            if (stock == null) {
+                reservations.forEach(pending -> outcomes.put(pending, StockReservation.notFound()));
+                return;
+            }
+            int available = stock.quantity();
+            for (PendingReservation pending : reservations) {
+                if (pending.quantity() <= available) {
+                    available -= pending.quantity();
+                    outcomes.put(pending, StockReservation.reserved(new StockQuantity(stock.stockId(), productId, available)));
+                } else {
+                    outcomes.put(pending, StockReservation.insufficient(new StockQuantity(stock.stockId(), productId, available)));
+                }
+            }
+            if (available != stock.quantity()) {
+                netDeltas.put(productId, available - stock.quantity());
+                touched.add(stock);
+            }
+        });
+
+        if (!netDeltas.isEmpty()) {
+            stockQuantityRepository.addByProductIds(netDeltas);
+        }
+        return touched;
+    }
+
+    private record PendingReservation(Long productId, int quantity, CompletableFuture<StockReservation> result) {
+    }
+}
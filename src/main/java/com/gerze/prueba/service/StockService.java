@@ -1,18 +1,37 @@
 package com.gerze.prueba.service;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.config.UsePrimary;
 import com.gerze.prueba.controller.DTOs.StockDTO;
 import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ResourceVersion;
 import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockQuantity;
+import com.gerze.prueba.model.StockSummary;
+import com.gerze.prueba.model.StockView;
 import com.gerze.prueba.repository.ProductRepository;
+import com.gerze.prueba.repository.StockQuantityRepository;
 import com.gerze.prueba.repository.StockRepository;
+import com.gerze.prueba.repository.StockSummaryRepository;
 
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
+@Timed(value = "catalog.service", histogram = true)
 public class StockService {
 
     @Autowired
@@ -21,46 +40,107 @@ public class StockService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private StockQuantityRepository stockQuantityRepository;
+
+    @Autowired
+    private StockSummaryRepository stockSummaryRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.stock.update.max-attempts:3}")
+    private int updateMaxAttempts;
+
+    @Value("${app.stock.update.retry-backoff-ms:5}")
+    private long updateRetryBackoffMillis;
+
+    @Cacheable(cacheNames = CacheConfig.STOCKS, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
-    public Stock getStockById(Long id) {
-        return stockRepository.findById(id)
-                .filter(stock -> isProductActive(stock.getProduct()))
-                .orElse(null);
+    @UsePrimary
+    public StockView getStockById(Long id) {
+        return stockRepository.findViewById(id).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockView> getStocks(Long after, int limit) {
+        long cursor = after == null ? 0L : after;
+        return stockRepository.findViewsAfter(cursor, Limit.of(limit));
     }
 
     @Transactional(readOnly = true)
-    public List<Stock> getAllStock() {
-        return stockRepository.findAll().stream()
-                .filter(stock -> isProductActive(stock.getProduct()))
-                .toList();
+    public StockSummary getStockSummary() {
+        return StockSummary.of(stockSummaryRepository.findLocations());
+    }
+
+    @Transactional
+    public Integer foldStockSummary() {
+        if (!stockSummaryRepository.tryLockReconciliation()) {
+            return null;
+        }
+        return stockSummaryRepository.foldDeltas();
+    }
+
+    @Transactional
+    public List<String> reconcileStockSummary() {
+        if (!stockSummaryRepository.tryLockReconciliation()) {
+            return null;
+        }
+        List<String> drifted = stockSummaryRepository.findDriftedLocations();
+        if (drifted.isEmpty()) {
+            return drifted;
+        }
+        return stockSummaryRepository.repair();
     }
 
     @Transactional
     public Stock createStock(StockDTO stockDTO) {
-        Product product = productRepository.findById(stockDTO.getProductId())
-                .filter(this::isProductActive)
-                .orElse(null);
+        Product product = productRepository.findByIdAndStateTrue(stockDTO.getProductId()).orElse(null);
         if (product == null || stockRepository.findByProductId(product.getId()).isPresent()) {
             return null;
         }
         Stock stock = stockDTO.toEntity(product);
-        return stockRepository.save(stock);
+        Stock savedStock = stockRepository.save(stock);
+        catalogCache.evictStock(savedStock);
+        return savedStock;
     }
 
-    @Transactional
     public Stock updateStock(Long id, StockDTO stockDTO) {
-        Stock existingStock = stockRepository.findById(id)
-                .filter(stock -> isProductActive(stock.getProduct()))
-                .orElse(null);
+        return updateStock(id, stockDTO, null);
+    }
+
+    public Stock updateStock(Long id, StockDTO stockDTO, String ifMatch) {
+        if (ifMatch != null) {
+            return transactionTemplate.execute(status -> applyUpdate(id, stockDTO, ifMatch));
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(id, stockDTO, null));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= updateMaxAttempts) {
+                    throw e;
+                }
+                log.debug("Conflicto de versión al actualizar el stock {} (intento {}), reintentando", id, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private Stock applyUpdate(Long id, StockDTO stockDTO, String ifMatch) {
+        Stock existingStock = stockRepository.findByIdAndProductStateTrue(id).orElse(null);
         if (existingStock == null) {
             return null;
         }
+        if (ifMatch != null && !ResourceVersion.of(existingStock).matches(ifMatch)) {
+            throw new OptimisticLockingFailureException("El stock " + id + " no coincide con If-Match " + ifMatch);
+        }
 
         Long newProductId = stockDTO.getProductId();
         if (newProductId != null && !existingStock.getProduct().getId().equals(newProductId)) {
-            Product newProduct = productRepository.findById(newProductId)
-                    .filter(this::isProductActive)
-                    .orElse(null);
+            Product newProduct = productRepository.findByIdAndStateTrue(newProductId).orElse(null);
             if (newProduct == null) {
                 return null;
             }
@@ -70,12 +150,39 @@ public class StockService {
             if (productAlreadyLinked) {
                 return null;
             }
+            catalogCache.evictStock(existingStock);
             existingStock.setProduct(newProduct);
         }
 
         existingStock.setQuantity(stockDTO.getQuantity());
         existingStock.setLocation(stockDTO.getLocation());
-        return stockRepository.save(existingStock);
+        Stock savedStock = stockRepository.save(existingStock);
+        catalogCache.evictStock(savedStock);
+        return savedStock;
+    }
+
+    @Transactional
+    public StockQuantity adjustStock(Long id, int delta) {
+        return stockQuantityRepository.adjustById(id, delta)
+                .map(this::evictAdjusted)
+                .orElse(null);
+    }
+
+    @Transactional
+    public StockQuantity adjustStockByProductId(Long productId, int delta) {
+        return stockQuantityRepository.adjustByProductId(productId, delta)
+                .map(this::evictAdjusted)
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existsActiveStock(Long id) {
+        return stockRepository.existsByIdAndProductStateTrue(id);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean existsActiveStockForProduct(Long productId) {
+        return stockRepository.existsByProductIdAndProductStateTrue(productId);
     }
 
     @Transactional
@@ -83,12 +190,23 @@ public class StockService {
         return stockRepository.findById(id)
                 .map(stock -> {
                     stockRepository.delete(stock);
+                    catalogCache.evictStock(stock);
                     return true;
                 })
                 .orElse(false);
     }
 
-    private boolean isProductActive(Product product) {
-        return product != null && Boolean.TRUE.equals(product.getState());
+    private StockQuantity evictAdjusted(StockQuantity adjusted) {
+        catalogCache.evictStock(adjusted.stockId(), adjusted.productId());
+        return adjusted;
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(updateRetryBackoffMillis * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reintento de actualización de stock interrumpido", e);
+        }
     }
 }
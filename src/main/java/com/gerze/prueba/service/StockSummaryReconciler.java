@@ -0,0 +1,77 @@
+package com.gerze.prueba.service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class StockSummaryReconciler {
+
+    private final StockService stockService;
+    private final long intervalMillis;
+    private final long foldIntervalMillis;
+    private ScheduledExecutorService scheduler;
+
+    public StockSummaryReconciler(StockService stockService,
+            @Value("${app.stock.summary.reconcile-interval-ms:3600000}") long intervalMillis,
+            @Value("${app.stock.summary.fold-interval-ms:1000}") long foldIntervalMillis) {
+        this.stockService = stockService;
+        this.intervalMillis = intervalMillis;
+        this.foldIntervalMillis = foldIntervalMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        if (intervalMillis <= 0 && foldIntervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stock-summary-reconciler").daemon().factory());
+        if (foldIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::fold, foldIntervalMillis, foldIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        if (intervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::reconcile, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void fold() {
+        try {
+            if (stockService.foldStockSummary() == null) {
+                log.debug("Otra instancia está plegando las diferencias del resumen de stock");
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron plegar las diferencias del resumen de stock", e);
+        }
+    }
+
+    void reconcile() {
+        try {
+            List<String> corrected = stockService.reconcileStockSummary();
+            if (corrected == null) {
+                log.debug("Otra instancia está conciliando el resumen de stock");
+            } else if (!corrected.isEmpty()) {
+                log.warn("Resumen de stock corregido en {} ubicaciones: {}", corrected.size(), corrected);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo conciliar el resumen de stock", e);
+        }
+    }
+}
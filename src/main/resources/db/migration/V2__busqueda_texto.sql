@@ -0,0 +1,8 @@
+-- Búsqueda de productos (GET /api/products/search): trigramas y texto completo en español.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE public.productos ADD COLUMN IF NOT EXISTS busqueda tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', nombre), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(descripcion, '')), 'B')
+    ) STORED;
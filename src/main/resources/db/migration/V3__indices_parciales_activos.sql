@@ -0,0 +1,15 @@
+-- Índices parciales: las lecturas solo consideran productos activos (soft delete con estado = false).
+-- Se crean con CONCURRENTLY para no bloquear escrituras; ver V3__indices_parciales_activos.sql.conf.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_productos_activos_id
+    ON public.productos (id) WHERE estado = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_productos_activos_busqueda
+    ON public.productos USING gin (busqueda) WHERE estado = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_productos_activos_nombre_trgm
+    ON public.productos USING gin (nombre gin_trgm_ops) WHERE estado = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_productos_activos_descripcion_trgm
+    ON public.productos USING gin (descripcion gin_trgm_ops) WHERE estado = true;
+
+-- Índices completos creados por versiones anteriores de SCHEMA-CRUD.sql.
+DROP INDEX CONCURRENTLY IF EXISTS public.idx_productos_busqueda;
+DROP INDEX CONCURRENTLY IF EXISTS public.idx_productos_nombre_trgm;
+DROP INDEX CONCURRENTLY IF EXISTS public.idx_productos_descripcion_trgm;
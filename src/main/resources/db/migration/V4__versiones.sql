@@ -0,0 +1,8 @@
+-- Versión y fecha de última actualización para ETag / Last-Modified y bloqueo optimista.
+-- Los valores por defecto constantes no reescriben la tabla (PostgreSQL 11+).
+ALTER TABLE public.productos
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS ultima_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE public.stock
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
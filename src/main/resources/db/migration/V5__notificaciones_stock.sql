@@ -0,0 +1,43 @@
+-- Publica cada cambio de stock en el canal stock_cambios. pg_notify se entrega al confirmar
+-- la transacción, por lo que los cambios revertidos nunca llegan a los suscriptores y todas
+-- las instancias de la API que escuchan el canal reciben los mismos eventos.
+CREATE OR REPLACE FUNCTION public.notificar_cambio_stock() RETURNS trigger AS $$
+DECLARE
+    fila public.stock%ROWTYPE;
+    tipo TEXT;
+BEGIN
+    IF TG_TABLE_NAME = 'productos' THEN
+        SELECT * INTO fila FROM public.stock WHERE producto_id = NEW.id;
+        IF NOT FOUND THEN
+            RETURN NULL;
+        END IF;
+        tipo := CASE WHEN NEW.estado THEN 'updated' ELSE 'deleted' END;
+    ELSIF TG_OP = 'DELETE' THEN
+        fila := OLD;
+        tipo := 'deleted';
+    ELSE
+        fila := NEW;
+        tipo := CASE WHEN TG_OP = 'INSERT' THEN 'created' ELSE 'updated' END;
+        -- el stock de un producto inactivo deja de existir para la API
+        IF NOT EXISTS (SELECT 1 FROM public.productos WHERE id = fila.producto_id AND estado = true) THEN
+            tipo := 'deleted';
+        END IF;
+    END IF;
+
+    PERFORM pg_notify('stock_cambios', json_build_object(
+            'type', tipo,
+            'stockId', fila.id,
+            'productId', fila.producto_id,
+            'quantity', fila.cantidad,
+            'version', fila.version)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER stock_cambios
+    AFTER INSERT OR UPDATE OR DELETE ON public.stock
+    FOR EACH ROW EXECUTE FUNCTION public.notificar_cambio_stock();
+
+CREATE TRIGGER productos_estado_cambios
+    AFTER UPDATE OF estado ON public.productos
+    FOR EACH ROW WHEN (OLD.estado IS DISTINCT FROM NEW.estado) EXECUTE FUNCTION public.notificar_cambio_stock();
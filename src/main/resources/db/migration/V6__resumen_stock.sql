@@ -0,0 +1,152 @@
+-- Agregados de inventario por ubicación para GET /api/stocks/summary. Los mantienen triggers de
+-- sentencia en la misma transacción que cada escritura, así que cubren también las sentencias
+-- masivas (importación, sincronización, reservas agrupadas, soft delete) con una sola
+-- actualización por ubicación y sentencia. El stock sin ubicación se acumula en ''.
+--
+-- stock_resumen_filas guarda lo que cada fila de stock aporta a stock_resumen. Los triggers
+-- recalculan el aporte de las filas afectadas con el estado final de stock y productos y suman la
+-- diferencia con el aporte guardado, de modo que una sentencia que modifica ambas tablas a la vez
+-- (el soft delete) no cuenta dos veces el mismo cambio.
+CREATE TABLE IF NOT EXISTS public.stock_resumen (
+    ubicacion VARCHAR(100) PRIMARY KEY,
+    productos BIGINT NOT NULL DEFAULT 0,
+    unidades BIGINT NOT NULL DEFAULT 0,
+    valor NUMERIC(20, 2) NOT NULL DEFAULT 0,
+    sin_stock BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS public.stock_resumen_filas (
+    stock_id INTEGER PRIMARY KEY,
+    ubicacion VARCHAR(100) NOT NULL,
+    activo BOOLEAN NOT NULL,
+    unidades INTEGER NOT NULL,
+    valor NUMERIC(20, 2) NOT NULL
+);
+
+-- Los productos inactivos no aportan unidades ni valor.
+CREATE OR REPLACE VIEW public.stock_aportes AS
+SELECT s.id AS stock_id,
+       coalesce(s.ubicacion, '') AS ubicacion,
+       p.estado AS activo,
+       CASE WHEN p.estado THEN s.cantidad ELSE 0 END AS unidades,
+       CASE WHEN p.estado THEN s.cantidad * p.precio ELSE 0 END AS valor
+  FROM public.stock s
+  JOIN public.productos p ON p.id = s.producto_id;
+
+CREATE OR REPLACE FUNCTION public.actualizar_resumen_stock(ids INTEGER[]) RETURNS void AS $$
+BEGIN
+    IF ids IS NULL THEN
+        RETURN;
+    END IF;
+
+    -- Serializa con otras transacciones que recalculan las mismas filas; cada sentencia siguiente
+    -- toma una instantánea nueva y ve lo que confirmaron.
+    PERFORM 1 FROM public.stock_resumen_filas WHERE stock_id = ANY(ids) ORDER BY stock_id FOR UPDATE;
+
+    INSERT INTO public.stock_resumen AS r (ubicacion, productos, unidades, valor, sin_stock)
+    SELECT *
+      FROM (SELECT c.ubicacion,
+                   sum(c.productos) AS productos,
+                   sum(c.unidades) AS unidades,
+                   sum(c.valor) AS valor,
+                   sum(c.sin_stock) AS sin_stock
+              FROM (SELECT ubicacion, activo::int AS productos, unidades, valor,
+                           (activo AND unidades = 0)::int AS sin_stock
+                      FROM public.stock_aportes
+                     WHERE stock_id = ANY(ids)
+                    UNION ALL
+                    SELECT ubicacion, -activo::int, -unidades, -valor, -(activo AND unidades = 0)::int
+                      FROM public.stock_resumen_filas
+                     WHERE stock_id = ANY(ids)) c
+             GROUP BY c.ubicacion) d
+     WHERE (d.productos, d.unidades, d.valor, d.sin_stock) <> (0, 0, 0, 0)
+     ORDER BY d.ubicacion
+    ON CONFLICT (ubicacion) DO UPDATE
+       SET productos = r.productos + excluded.productos,
+           unidades = r.unidades + excluded.unidades,
+           valor = r.valor + excluded.valor,
+           sin_stock = r.sin_stock + excluded.sin_stock;
+
+    DELETE FROM public.stock_resumen_filas f
+     WHERE f.stock_id = ANY(ids)
+       AND NOT EXISTS (SELECT 1 FROM public.stock s WHERE s.id = f.stock_id);
+
+    INSERT INTO public.stock_resumen_filas AS f (stock_id, ubicacion, activo, unidades, valor)
+    SELECT stock_id, ubicacion, activo, unidades, valor
+      FROM public.stock_aportes
+     WHERE stock_id = ANY(ids)
+     ORDER BY stock_id
+    ON CONFLICT (stock_id) DO UPDATE
+       SET ubicacion = excluded.ubicacion,
+           activo = excluded.activo,
+           unidades = excluded.unidades,
+           valor = excluded.valor
+     WHERE (f.ubicacion, f.activo, f.unidades, f.valor)
+           IS DISTINCT FROM (excluded.ubicacion, excluded.activo, excluded.unidades, excluded.valor);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.resumir_cambios_stock() RETURNS trigger AS $$
+DECLARE
+    ids INTEGER[];
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT array_agg(id) INTO ids FROM antiguas;
+    ELSE
+        SELECT array_agg(id) INTO ids FROM nuevas;
+    END IF;
+    PERFORM public.actualizar_resumen_stock(ids);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.resumir_cambios_productos() RETURNS trigger AS $$
+DECLARE
+    ids INTEGER[];
+BEGIN
+    SELECT array_agg(s.id) INTO ids
+      FROM nuevos n
+      JOIN antiguos a ON a.id = n.id
+      JOIN public.stock s ON s.producto_id = n.id
+     WHERE n.precio <> a.precio OR n.estado <> a.estado;
+    PERFORM public.actualizar_resumen_stock(ids);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER stock_resumen_insercion
+    AFTER INSERT ON public.stock
+    REFERENCING NEW TABLE AS nuevas
+    FOR EACH STATEMENT EXECUTE FUNCTION public.resumir_cambios_stock();
+
+CREATE TRIGGER stock_resumen_actualizacion
+    AFTER UPDATE ON public.stock
+    REFERENCING OLD TABLE AS antiguas NEW TABLE AS nuevas
+    FOR EACH STATEMENT EXECUTE FUNCTION public.resumir_cambios_stock();
+
+CREATE TRIGGER stock_resumen_borrado
+    AFTER DELETE ON public.stock
+    REFERENCING OLD TABLE AS antiguas
+    FOR EACH STATEMENT EXECUTE FUNCTION public.resumir_cambios_stock();
+
+CREATE TRIGGER productos_resumen_stock
+    AFTER UPDATE ON public.productos
+    REFERENCING OLD TABLE AS antiguos NEW TABLE AS nuevos
+    FOR EACH STATEMENT EXECUTE FUNCTION public.resumir_cambios_productos();
+
+-- Los triggers ya bloquean las escrituras en ambas tablas hasta el final de la migración, así que
+-- la carga inicial parte de un estado consistente.
+INSERT INTO public.stock_resumen_filas (stock_id, ubicacion, activo, unidades, valor)
+SELECT stock_id, ubicacion, activo, unidades, valor
+  FROM public.stock_aportes
+ON CONFLICT (stock_id) DO NOTHING;
+
+INSERT INTO public.stock_resumen (ubicacion, productos, unidades, valor, sin_stock)
+SELECT ubicacion,
+       count(*) FILTER (WHERE activo),
+       sum(unidades),
+       sum(valor),
+       count(*) FILTER (WHERE activo AND unidades = 0)
+  FROM public.stock_resumen_filas
+ GROUP BY ubicacion
+ON CONFLICT (ubicacion) DO NOTHING;
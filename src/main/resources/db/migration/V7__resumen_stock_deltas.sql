@@ -0,0 +1,71 @@
+-- Las escrituras dejan de actualizar stock_resumen directamente: el upsert por ubicación
+-- serializaba las transacciones concurrentes que tocan stock de la misma ubicación. Cada
+-- sentencia inserta ahora sus diferencias en stock_resumen_deltas, que solo recibe inserciones y no
+-- bloquea a nadie, y el conciliador las pliega periódicamente en stock_resumen. Las lecturas suman
+-- ambas tablas a través de la vista stock_resumen_vigente.
+CREATE TABLE IF NOT EXISTS public.stock_resumen_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    ubicacion VARCHAR(100) NOT NULL,
+    productos BIGINT NOT NULL,
+    unidades BIGINT NOT NULL,
+    valor NUMERIC(20, 2) NOT NULL,
+    sin_stock BIGINT NOT NULL
+);
+
+CREATE OR REPLACE VIEW public.stock_resumen_vigente AS
+SELECT ubicacion,
+       sum(productos)::BIGINT AS productos,
+       sum(unidades)::BIGINT AS unidades,
+       sum(valor) AS valor,
+       sum(sin_stock)::BIGINT AS sin_stock
+  FROM (SELECT ubicacion, productos, unidades, valor, sin_stock FROM public.stock_resumen
+        UNION ALL
+        SELECT ubicacion, productos, unidades, valor, sin_stock FROM public.stock_resumen_deltas) c
+ GROUP BY ubicacion;
+
+CREATE OR REPLACE FUNCTION public.actualizar_resumen_stock(ids INTEGER[]) RETURNS void AS $$
+BEGIN
+    IF ids IS NULL THEN
+        RETURN;
+    END IF;
+
+    -- Serializa con otras transacciones que recalculan las mismas filas; cada sentencia siguiente
+    -- toma una instantánea nueva y ve lo que confirmaron.
+    PERFORM 1 FROM public.stock_resumen_filas WHERE stock_id = ANY(ids) ORDER BY stock_id FOR UPDATE;
+
+    INSERT INTO public.stock_resumen_deltas (ubicacion, productos, unidades, valor, sin_stock)
+    SELECT *
+      FROM (SELECT c.ubicacion,
+                   sum(c.productos) AS productos,
+                   sum(c.unidades) AS unidades,
+                   sum(c.valor) AS valor,
+                   sum(c.sin_stock) AS sin_stock
+              FROM (SELECT ubicacion, activo::int AS productos, unidades, valor,
+                           (activo AND unidades = 0)::int AS sin_stock
+                      FROM public.stock_aportes
+                     WHERE stock_id = ANY(ids)
+                    UNION ALL
+                    SELECT ubicacion, -activo::int, -unidades, -valor, -(activo AND unidades = 0)::int
+                      FROM public.stock_resumen_filas
+                     WHERE stock_id = ANY(ids)) c
+             GROUP BY c.ubicacion) d
+     WHERE (d.productos, d.unidades, d.valor, d.sin_stock) <> (0, 0, 0, 0);
+
+    DELETE FROM public.stock_resumen_filas f
+     WHERE f.stock_id = ANY(ids)
+       AND NOT EXISTS (SELECT 1 FROM public.stock s WHERE s.id = f.stock_id);
+
+    INSERT INTO public.stock_resumen_filas AS f (stock_id, ubicacion, activo, unidades, valor)
+    SELECT stock_id, ubicacion, activo, unidades, valor
+      FROM public.stock_aportes
+     WHERE stock_id = ANY(ids)
+     ORDER BY stock_id
+    ON CONFLICT (stock_id) DO UPDATE
+       SET ubicacion = excluded.ubicacion,
+           activo = excluded.activo,
+           unidades = excluded.unidades,
+           valor = excluded.valor
+     WHERE (f.ubicacion, f.activo, f.unidades, f.valor)
+           IS DISTINCT FROM (excluded.ubicacion, excluded.activo, excluded.unidades, excluded.valor);
+END;
+$$ LANGUAGE plpgsql;
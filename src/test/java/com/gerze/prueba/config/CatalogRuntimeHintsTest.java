@@ -0,0 +1,53 @@
+package com.gerze.prueba.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.gerze.prueba.controller.DTOs.StockBulkItemDTO;
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.StockChange;
+
+class CatalogRuntimeHintsTest {
+
+    private final RuntimeHints hints = registerHints();
+
+    @Test
+    @DisplayName("DTOs read outside controller signatures should keep their Lombok accessors")
+    void shouldRegisterBindingHintsForDtos() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onMethod(StockBulkItemDTO.class.getMethod("setProductId", Long.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onMethod(StockChange.class.getMethod("productId"))).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("JPQL constructor projections and entities should be reflectively accessible")
+    void shouldRegisterProjectionsAndEntities() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(ProductView.class.getConstructor(Long.class,
+                String.class, String.class, BigDecimal.class, Boolean.class, LocalDateTime.class, LocalDateTime.class,
+                Long.class, Long.class, Integer.class, String.class, LocalDateTime.class, Long.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Product.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("Flyway migrations should be included as resources")
+    void shouldRegisterMigrations() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__esquema_inicial.sql")).accepts(hints);
+    }
+
+    private static RuntimeHints registerHints() {
+        RuntimeHints hints = new RuntimeHints();
+        new CatalogRuntimeHints.Registrar().registerHints(hints, CatalogRuntimeHints.class.getClassLoader());
+        return hints;
+    }
+}
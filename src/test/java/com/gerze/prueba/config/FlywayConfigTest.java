@@ -0,0 +1,66 @@
+package com.gerze.prueba.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@JdbcTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import(FlywayConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlywayConfigTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private FlywayMigrationStrategy migrationStrategy;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropInvalidIndex() {
+        jdbcTemplate.execute("drop index if exists idx_productos_estado_unico");
+    }
+
+    @Test
+    @DisplayName("Migrations should create the partial indexes concurrently and leave them valid")
+    void shouldApplyAllMigrations() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where tablename = 'productos' and indexdef like '%WHERE (estado = true)'",
+                String.class))
+                .containsExactlyInAnyOrder("idx_productos_activos_id", "idx_productos_activos_busqueda",
+                        "idx_productos_activos_nombre_trgm", "idx_productos_activos_descripcion_trgm");
+
+        migrationStrategy.migrate(flyway);
+    }
+
+    @Test
+    @DisplayName("Startup should fail when an interrupted concurrent build left an invalid index")
+    void shouldRejectInvalidIndexes() {
+        assertThatThrownBy(() -> jdbcTemplate.execute(
+                "create unique index concurrently idx_productos_estado_unico on productos (estado)"))
+                .isInstanceOf(DataAccessException.class);
+
+        assertThatThrownBy(() -> migrationStrategy.migrate(flyway))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("idx_productos_estado_unico");
+    }
+}
@@ -0,0 +1,39 @@
+package com.gerze.prueba.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gerze.prueba.filter.RequestQueryStats;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@JdbcTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import(QueryMetricsConfig.class)
+class QueryMetricsConfigTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Every JDBC statement and fetched row should be counted for the current request")
+    void shouldCountStatementsAndRows() {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            jdbcTemplate.queryForList("select generate_series(1, 5)", Integer.class);
+            jdbcTemplate.update("create temporary table t (id int)");
+        } finally {
+            RequestQueryStats.end();
+        }
+
+        assertThat(stats.getStatements()).isEqualTo(2);
+        assertThat(stats.getRows()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,193 @@
+package com.gerze.prueba.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gerze.prueba.service.ProductService;
+import com.gerze.prueba.service.StockService;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+
+class ReadReplicaDataSourceTest {
+
+    private EmbeddedPostgres primary;
+    private EmbeddedPostgres replica;
+    private ReadReplicaDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    @BeforeEach
+    void startDatabases() throws IOException {
+        primary = EmbeddedPostgres.start();
+        replica = EmbeddedPostgres.start();
+
+        HikariDataSource primaryPool = new HikariDataSource();
+        primaryPool.setJdbcUrl(primary.getJdbcUrl("postgres", "postgres"));
+        primaryPool.setUsername("postgres");
+        primaryPool.setPoolName("test-db");
+        primaryPool.setMaximumPoolSize(2);
+        primaryPool.setConnectionTimeout(1000);
+        dataSource = new ReadReplicaDataSource(primaryPool, List.of(replica.getJdbcUrl("postgres", "postgres")),
+                Duration.ofHours(1), Duration.ofSeconds(10));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void stopDatabases() throws IOException {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.destroy();
+        }
+        dataSource.close();
+        replica.close();
+        primary.close();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should go to the replica and everything else to the primary")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(dataSource.getHealthyReplicaCount()).isEqualTo(1);
+
+        assertThat(servingPort(readOnly)).isEqualTo(replica.getPort());
+        assertThat(servingPort(readWrite)).isEqualTo(primary.getPort());
+        assertThat(servingPort()).isEqualTo(primary.getPort());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should fall back to the primary when no replica is healthy")
+    void shouldFallBackToPrimaryWhenReplicaIsDown() throws IOException {
+        assertThat(servingPort(readOnly)).isEqualTo(replica.getPort());
+
+        replica.close();
+        dataSource.checkReplicas();
+
+        assertThat(dataSource.getHealthyReplicaCount()).isZero();
+        assertThat(servingPort(readOnly)).isEqualTo(primary.getPort());
+    }
+
+    @Test
+    @DisplayName("JPA transactions should route by their read-only flag like the services use them")
+    void shouldRouteJpaTransactionsByReadOnlyFlag() {
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan("com.gerze.prueba.model");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.afterPropertiesSet();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                entityManagerFactory.getObject());
+        TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+        jpaReadOnly.setReadOnly(true);
+
+        assertThat(servingPort(jpaReadOnly, entityManager)).isEqualTo(replica.getPort());
+        assertThat(servingPort(jpaReadOnly)).isEqualTo(replica.getPort());
+        assertThat(servingPort(jpaReadWrite, entityManager)).isEqualTo(primary.getPort());
+        assertThat(servingPort(jpaReadWrite)).isEqualTo(primary.getPort());
+    }
+
+    @Test
+    @DisplayName("Read-only methods marked @UsePrimary should read from the primary")
+    void shouldRouteUsePrimaryMethodsToPrimary() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(PlatformTransactionManager.class, () -> new DataSourceTransactionManager(dataSource));
+            context.registerBean(JdbcTemplate.class, () -> jdbcTemplate);
+            context.registerBean("usePrimaryAdvisor", Advisor.class,
+                    ReadReplicaConfig::usePrimaryAdvisor,
+                    definition -> definition.setRole(BeanDefinition.ROLE_INFRASTRUCTURE));
+            context.register(TransactionConfig.class, PortReader.class);
+            context.refresh();
+            PortReader reader = context.getBean(PortReader.class);
+
+            assertThat(reader.primaryPort()).isEqualTo(primary.getPort());
+            assertThat(reader.replicaPort()).isEqualTo(replica.getPort());
+        }
+    }
+
+    @Test
+    @DisplayName("Cache-filling reads should stay read-only and be pinned to the primary")
+    void shouldPinCacheFillingReadsToPrimary() {
+        List<Method> cachedReads = Arrays.stream(new Class<?>[] { ProductService.class, StockService.class })
+                .flatMap(service -> Arrays.stream(service.getDeclaredMethods()))
+                .filter(method -> method.isAnnotationPresent(Cacheable.class))
+                .toList();
+
+        assertThat(cachedReads).isNotEmpty().allSatisfy(method -> {
+            assertThat(method.isAnnotationPresent(UsePrimary.class)).as(method.getName()).isTrue();
+            assertThat(method.getAnnotation(Transactional.class).readOnly()).as(method.getName()).isTrue();
+        });
+    }
+
+    private int servingPort(TransactionTemplate transaction, EntityManager entityManager) {
+        return transaction.execute(status -> Integer.parseInt(
+                (String) entityManager.createNativeQuery("select current_setting('port')").getSingleResult()));
+    }
+
+    private int servingPort(TransactionTemplate transaction) {
+        return transaction.execute(status -> servingPort());
+    }
+
+    private int servingPort() {
+        return Integer.parseInt(jdbcTemplate.queryForObject("select current_setting('port')", String.class));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TransactionConfig {
+    }
+
+    static class PortReader {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        PortReader(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Transactional(readOnly = true)
+        public int replicaPort() {
+            return Integer.parseInt(jdbcTemplate.queryForObject("select current_setting('port')", String.class));
+        }
+
+        @Transactional(readOnly = true)
+        @UsePrimary
+        public int primaryPort() {
+            return Integer.parseInt(jdbcTemplate.queryForObject("select current_setting('port')", String.class));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.gerze.prueba.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.gerze.prueba.service.CatalogExportService;
+
+@WebMvcTest(CatalogExportController.class)
+class CatalogExportControllerTest {
+
+    private static final String CSV = "id,name\n1,Teclado\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CatalogExportService catalogExportService;
+
+    @BeforeEach
+    void writeCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write(CSV.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(catalogExportService).exportCatalog(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/export/catalog should stream the catalog as a CSV attachment")
+    void shouldStreamCatalogAsCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/export/catalog"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalogo.csv\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(CSV));
+    }
+
+    @Test
+    @DisplayName("GET /api/export/catalog should gzip the CSV when the client accepts it")
+    void shouldGzipCatalogWhenAccepted() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/export/catalog").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/export/catalog should not gzip when the client refuses it")
+    void shouldNotGzipWhenRefused() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/export/catalog").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(CSV));
+    }
+}
@@ -1,32 +1,51 @@
 package com.gerze.prueba.controller;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gerze.prueba.controller.DTOs.ProductDTO;
+import com.gerze.prueba.controller.DTOs.ProductImportResultDTO;
 import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductSearchMode;
+import com.gerze.prueba.model.ProductSummary;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.service.ProductImportService;
 import com.gerze.prueba.service.ProductService;
 
 @WebMvcTest(ProductController.class)
@@ -41,29 +60,143 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductImportService productImportService;
+
     @Test
     @DisplayName("GET /api/products should return list of active products")
     void shouldReturnListOfProducts() throws Exception {
         Product product = buildProduct(1L);
-        when(productService.getAllProducts()).thenReturn(List.of(product));
+        when(productService.getProducts(isNull(), eq(50))).thenReturn(List.of(ProductView.of(product)));
 
         mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(1L))
-                .andExpect(jsonPath("$[0].name").value("Producto 1"));
+                .andExpect(jsonPath("$[0].name").value("Producto 1"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products should return next cursor when page is full")
+    void shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        when(productService.getProducts(10L, 2)).thenReturn(List.of(ProductView.of(buildProduct(11L)), ProductView.of(buildProduct(12L))));
+
+        mockMvc.perform(get("/api/products").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string("X-Next-Cursor", "12"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products?view=summary should return products without stock")
+    void shouldReturnProductSummaries() throws Exception {
+        ProductSummary summary = new ProductSummary(4L, "Producto 4", "Descripción 4", BigDecimal.valueOf(104), null);
+        when(productService.getProductSummaries(isNull(), eq(50))).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/api/products").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(4L))
+                .andExpect(jsonPath("$[0].stock").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search should return ranked matches and the next offset when the page is full")
+    void shouldSearchProducts() throws Exception {
+        ProductSummary summary = new ProductSummary(1L, "Teclado Mecánico", "Teclado retroiluminado",
+                BigDecimal.valueOf(45.99), null);
+        when(productService.searchProducts("tecl", ProductSearchMode.PREFIX, 1, 10)).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/api/products/search")
+                .param("q", "tecl")
+                .param("mode", "prefix")
+                .param("limit", "1")
+                .param("offset", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Offset", "11"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Teclado Mecánico"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search should default to full-text mode and reject blank queries")
+    void shouldDefaultToFullTextAndRejectBlankQueries() throws Exception {
+        when(productService.searchProducts("teclado", ProductSearchMode.FULLTEXT, 50, 0)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/products/search").param("q", "teclado"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Offset"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/products/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("q", "teclado").param("mode", "fuzzy"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/products should stream NDJSON when requested")
+    void shouldStreamProductsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ProductView> consumer = invocation.getArgument(0);
+            consumer.accept(ProductView.of(buildProduct(1L)));
+            consumer.accept(ProductView.of(buildProduct(2L)));
+            return null;
+        }).when(productService).streamAllProducts(any());
+
+        MvcResult result = mockMvc.perform(get("/api/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(stringContainsInOrder("\"id\":1", "\n", "\"id\":2", "\n")));
     }
 
     @Test
     @DisplayName("GET /api/products/{id} should return product when found")
     void shouldReturnProductById() throws Exception {
-        Product product = buildProduct(2L);
-        when(productService.getProductById(2L)).thenReturn(product);
+        when(productService.getProductById(2L)).thenReturn(ProductView.of(buildProduct(2L)));
 
         mockMvc.perform(get("/api/products/2"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
                 .andExpect(jsonPath("$.id").value(2L))
-                .andExpect(jsonPath("$.name").value("Producto 2"));
+                .andExpect(jsonPath("$.name").value("Producto 2"))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} should answer 304 on a matching If-None-Match")
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(productService.getProductById(2L)).thenReturn(ProductView.of(buildProduct(2L)));
+
+        mockMvc.perform(get("/api/products/2").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} should answer 304 when not modified since the given date")
+    void shouldReturnNotModifiedWhenNotModifiedSince() throws Exception {
+        when(productService.getProductById(2L)).thenReturn(ProductView.of(buildProduct(2L)));
+
+        mockMvc.perform(get("/api/products/2").header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} should return the body when the ETag changed")
+    void shouldReturnProductWhenETagIsStale() throws Exception {
+        when(productService.getProductById(2L)).thenReturn(ProductView.of(buildProduct(2L)));
+
+        mockMvc.perform(get("/api/products/2").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(2L));
     }
 
     @Test
@@ -102,26 +235,86 @@ class ProductControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /api/products/bulk should import a JSON array and report row failures")
+    void shouldImportProductsFromJson() throws Exception {
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        result.addImported(1);
+        result.addError(2, List.of("El nombre del producto es obligatorio"), 10);
+        when(productImportService.importJson(any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/products/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"A\",\"price\":1},{\"price\":2}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/bulk should accept CSV payloads")
+    void shouldImportProductsFromCsv() throws Exception {
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        result.addImported(2);
+        when(productImportService.importCsv(any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/products/bulk")
+                        .contentType("text/csv")
+                        .content("name,description,price\nA,,1\nB,,2\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+    }
+
     @Test
     @DisplayName("PUT /api/products/{id} should update product when found")
     void shouldUpdateProduct() throws Exception {
         ProductDTO updates = buildProductDTO();
         Product updated = buildProduct(5L);
-        when(productService.updateProduct(eq(5L), any(ProductDTO.class))).thenReturn(updated);
+        when(productService.updateProduct(eq(5L), any(ProductDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/products/5")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updates)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.id").value(5L))
                 .andExpect(jsonPath("$.name").value("Producto 5"));
     }
 
+    @Test
+    @DisplayName("PUT /api/products/{id} should return 412 when If-Match is stale")
+    void shouldReturnPreconditionFailedWhenIfMatchIsStale() throws Exception {
+        ProductDTO updates = buildProductDTO();
+        when(productService.updateProduct(eq(5L), any(ProductDTO.class), eq("\"1\"")))
+                .thenThrow(new OptimisticLockingFailureException("El producto 5 no coincide con If-Match \"1\""));
+
+        mockMvc.perform(put("/api/products/5")
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/products/{id} should return 409 when a concurrent update wins")
+    void shouldReturnConflictOnConcurrentUpdate() throws Exception {
+        ProductDTO updates = buildProductDTO();
+        when(productService.updateProduct(eq(5L), any(ProductDTO.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 5L));
+
+        mockMvc.perform(put("/api/products/5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("PUT /api/products/{id} should return 404 when product not found")
     void shouldReturnNotFoundWhenUpdatingMissingProduct() throws Exception {
         ProductDTO updates = buildProductDTO();
-        when(productService.updateProduct(eq(55L), any(ProductDTO.class))).thenReturn(null);
+        when(productService.updateProduct(eq(55L), any(ProductDTO.class), isNull())).thenReturn(null);
 
         mockMvc.perform(put("/api/products/55")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -132,25 +325,44 @@ class ProductControllerTest {
     @Test
     @DisplayName("DELETE /api/products/{id} should soft delete product when found")
     void shouldDeleteProduct() throws Exception {
-        Product product = buildProduct(7L);
-        when(productService.getProductById(7L)).thenReturn(product);
-        doNothing().when(productService).deleteProduct(7L);
+        when(productService.deleteProduct(7L)).thenReturn(true);
 
         mockMvc.perform(delete("/api/products/7"))
                 .andExpect(status().isNoContent());
 
         verify(productService).deleteProduct(7L);
+        verify(productService, never()).getProductById(7L);
     }
 
     @Test
     @DisplayName("DELETE /api/products/{id} should return 404 when product not found")
     void shouldReturnNotFoundWhenDeletingMissingProduct() throws Exception {
-        when(productService.getProductById(77L)).thenReturn(null);
+        when(productService.deleteProduct(77L)).thenReturn(false);
 
         mockMvc.perform(delete("/api/products/77"))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("DELETE /api/products?ids= should deactivate many products and report missing ids")
+    void shouldDeleteProductsInBulk() throws Exception {
+        when(productService.deleteProducts(List.of(3L, 1L, 9L))).thenReturn(List.of(1L, 3L));
+
+        mockMvc.perform(delete("/api/products").param("ids", "3,1,9,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", contains(3, 1)))
+                .andExpect(jsonPath("$.notFound", contains(9)));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/products should reject requests without ids")
+    void shouldRejectBulkDeleteWithoutIds() throws Exception {
+        mockMvc.perform(delete("/api/products"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/products").param("ids", ""))
+                .andExpect(status().isBadRequest());
+    }
+
     private Product buildProduct(Long id) {
         Product product = new Product();
         product.setId(id);
@@ -158,6 +370,8 @@ class ProductControllerTest {
         product.setDescription("Descripción " + id);
         product.setPrice(BigDecimal.valueOf(100 + id));
         product.setState(Boolean.TRUE);
+        product.setVersion(3L);
+        product.setLastUpdate(LocalDateTime.of(2025, 1, 15, 10, 30));
         return product;
     }
 
@@ -0,0 +1,133 @@
+package com.gerze.prueba.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.stringContainsInOrder;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.StockView;
+import com.gerze.prueba.service.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@WebMvcTest(ReactiveCatalogController.class)
+class ReactiveCatalogControllerTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @Test
+    @DisplayName("GET /api/reactive/products should return a cursor page")
+    void shouldReturnProductPage() throws Exception {
+        when(reactiveCatalogService.getProducts(isNull(), eq(2)))
+                .thenReturn(Mono.just(List.of(buildProductView(1L), buildProductView(2L))));
+
+        performAsync(get("/api/reactive/products").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPagination.NEXT_CURSOR_HEADER, "2"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].stock.quantity").value(10));
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products should stream NDJSON when requested")
+    void shouldStreamProductsAsNdjson() throws Exception {
+        when(reactiveCatalogService.streamAllProducts())
+                .thenReturn(Flux.just(buildProductView(1L), buildProductView(2L)));
+
+        performAsync(get("/api/reactive/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(stringContainsInOrder("\"id\":1", "\n", "\"id\":2", "\n")));
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products/{id} should return the product with its ETag")
+    void shouldReturnProductById() throws Exception {
+        when(reactiveCatalogService.getProductById(2L)).thenReturn(Mono.just(buildProductView(2L)));
+
+        performAsync(get("/api/reactive/products/2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.2.1\""))
+                .andExpect(jsonPath("$.id").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products/{id} should return 304 when the ETag matches")
+    void shouldReturnNotModifiedForMatchingETag() throws Exception {
+        when(reactiveCatalogService.getProductById(2L)).thenReturn(Mono.just(buildProductView(2L)));
+
+        performAsync(get("/api/reactive/products/2").header(HttpHeaders.IF_NONE_MATCH, "\"3.2.1\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/products/{id} should return 404 when missing")
+    void shouldReturnNotFoundForMissingProduct() throws Exception {
+        when(reactiveCatalogService.getProductById(9L)).thenReturn(Mono.empty());
+
+        performAsync(get("/api/reactive/products/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/reactive/stocks should return stock entries with their product")
+    void shouldReturnStockPage() throws Exception {
+        when(reactiveCatalogService.getStocks(isNull(), eq(50)))
+                .thenReturn(Mono.just(List.of(buildStockView(1L))));
+
+        performAsync(get("/api/reactive/stocks"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPagination.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].product.name").value("Producto 1"));
+    }
+
+    private ResultActions performAsync(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private ProductView buildProductView(Long id) {
+        return new ProductView(id, "Producto " + id, "Descripción " + id, BigDecimal.valueOf(100 + id), true,
+                UPDATED, UPDATED, 3L, id, 10, "A1", UPDATED, 1L);
+    }
+
+    private StockView buildStockView(Long id) {
+        return new StockView(id, 10, "A1", UPDATED, 1L, id, "Producto " + id, "Descripción " + id,
+                BigDecimal.valueOf(100 + id), true, UPDATED, UPDATED, 3L);
+    }
+}
@@ -1,31 +1,57 @@
 package com.gerze.prueba.controller;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gerze.prueba.controller.DTOs.StockAdjustmentDTO;
+import com.gerze.prueba.controller.DTOs.StockBulkResultDTO;
 import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.controller.DTOs.StockReservationDTO;
 import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.StockBulkOutcome;
 import com.gerze.prueba.model.Stock;
+import com.gerze.prueba.model.StockQuantity;
+import com.gerze.prueba.model.StockReservation;
+import com.gerze.prueba.model.StockSummary;
+import com.gerze.prueba.model.StockView;
+import com.gerze.prueba.service.StockBulkService;
+import com.gerze.prueba.service.StockChangeFeed;
+import com.gerze.prueba.service.StockReservationService;
 import com.gerze.prueba.service.StockService;
 
 @WebMvcTest(StockController.class)
@@ -40,27 +66,78 @@ class StockControllerTest {
     @MockitoBean
     private StockService stockService;
 
+    @MockitoBean
+    private StockReservationService stockReservationService;
+
+    @MockitoBean
+    private StockChangeFeed stockChangeFeed;
+
+    @MockitoBean
+    private StockBulkService stockBulkService;
+
     @Test
     @DisplayName("GET /api/stocks should return active stock entries")
     void shouldReturnAllStock() throws Exception {
         Stock stock = buildStock(1L, 10, "A1");
-        when(stockService.getAllStock()).thenReturn(List.of(stock));
+        when(stockService.getStocks(isNull(), eq(50))).thenReturn(List.of(StockView.of(stock)));
 
         mockMvc.perform(get("/api/stocks"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(1L))
-                .andExpect(jsonPath("$[0].quantity").value(10));
+                .andExpect(jsonPath("$[0].quantity").value(10))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/stocks/summary should return totals and the per-location breakdown")
+    void shouldReturnStockSummary() throws Exception {
+        when(stockService.getStockSummary()).thenReturn(StockSummary.of(List.of(
+                new StockSummary.LocationSummary("A1", 2, 15, new BigDecimal("150.50"), 1),
+                new StockSummary.LocationSummary(null, 1, 5, new BigDecimal("20.00"), 0))));
+
+        mockMvc.perform(get("/api/stocks/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products").value(3))
+                .andExpect(jsonPath("$.units").value(20))
+                .andExpect(jsonPath("$.value").value(170.50))
+                .andExpect(jsonPath("$.zeroStockProducts").value(1))
+                .andExpect(jsonPath("$.locations", hasSize(2)))
+                .andExpect(jsonPath("$.locations[0].location").value("A1"))
+                .andExpect(jsonPath("$.locations[1].location").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/stocks should return next cursor when page is full")
+    void shouldReturnNextStockCursorWhenPageIsFull() throws Exception {
+        when(stockService.getStocks(1L, 1)).thenReturn(List.of(StockView.of(buildStock(7L, 70, "E5"))));
+
+        mockMvc.perform(get("/api/stocks").param("after", "1").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Next-Cursor", "7"));
+    }
+
+    @Test
+    @DisplayName("GET /api/stocks/stream should open a Server-Sent Events stream")
+    void shouldStreamStockChanges() throws Exception {
+        when(stockChangeFeed.subscribe()).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/stocks/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(stockChangeFeed).subscribe();
     }
 
     @Test
     @DisplayName("GET /api/stocks/{id} should return stock when found")
     void shouldReturnStockById() throws Exception {
-        Stock stock = buildStock(2L, 20, "B2");
-        when(stockService.getStockById(2L)).thenReturn(stock);
+        when(stockService.getStockById(2L)).thenReturn(StockView.of(buildStock(2L, 20, "B2")));
 
         mockMvc.perform(get("/api/stocks/2"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4.3\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
                 .andExpect(jsonPath("$.id").value(2L))
                 .andExpect(jsonPath("$.quantity").value(20))
                 .andExpect(jsonPath("$.product.id").value(102L));
@@ -75,6 +152,15 @@ class StockControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /api/stocks/{id} should answer 304 on a matching If-None-Match")
+    void shouldReturnNotModifiedWhenStockETagMatches() throws Exception {
+        when(stockService.getStockById(2L)).thenReturn(StockView.of(buildStock(2L, 20, "B2")));
+
+        mockMvc.perform(get("/api/stocks/2").header(HttpHeaders.IF_NONE_MATCH, "\"4.3\""))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("POST /api/stocks should create new stock entry when valid")
     void shouldCreateStock() throws Exception {
@@ -108,17 +194,38 @@ class StockControllerTest {
         StockDTO stockDTO = buildStockDTO();
         Stock existing = buildStock(4L, 40, "C3");
         Stock updated = buildStock(4L, stockDTO.getQuantity(), stockDTO.getLocation());
-        when(stockService.getStockById(4L)).thenReturn(existing);
-        when(stockService.updateStock(eq(4L), any(StockDTO.class))).thenReturn(updated);
+        when(stockService.getStockById(4L)).thenReturn(StockView.of(existing));
+        when(stockService.updateStock(eq(4L), any(StockDTO.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/api/stocks/4")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(stockDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4.3\""))
                 .andExpect(jsonPath("$.id").value(4L))
                 .andExpect(jsonPath("$.quantity").value(stockDTO.getQuantity()));
     }
 
+    @Test
+    @DisplayName("POST /api/stocks/bulk should return a result per item")
+    void shouldApplyBulkStockChanges() throws Exception {
+        StockBulkResultDTO result = new StockBulkResultDTO();
+        result.addOutcome(1, 1L, StockBulkOutcome.updated(new StockQuantity(1L, 1L, 15)));
+        result.addOutcome(2, 99L, StockBulkOutcome.notFound());
+        when(stockBulkService.applyJson(any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/stocks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":1,\"delta\":5},{\"productId\":99,\"quantity\":3}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.items[0].quantity").value(15))
+                .andExpect(jsonPath("$.items[1].productId").value(99))
+                .andExpect(jsonPath("$.items[1].status").value("NOT_FOUND"));
+    }
+
     @Test
     @DisplayName("PUT /api/stocks/{id} should return 404 when stock not found")
     void shouldReturnNotFoundWhenUpdatingMissingStock() throws Exception {
@@ -136,8 +243,8 @@ class StockControllerTest {
     void shouldReturnBadRequestWhenUpdateFails() throws Exception {
         StockDTO stockDTO = buildStockDTO();
         Stock existing = buildStock(5L, 50, "D4");
-        when(stockService.getStockById(5L)).thenReturn(existing);
-        when(stockService.updateStock(eq(5L), any(StockDTO.class))).thenReturn(null);
+        when(stockService.getStockById(5L)).thenReturn(StockView.of(existing));
+        when(stockService.updateStock(eq(5L), any(StockDTO.class), isNull())).thenReturn(null);
 
         mockMvc.perform(put("/api/stocks/5")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -145,6 +252,132 @@ class StockControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("PUT /api/stocks/{id} should return 409 when retries are exhausted by concurrent updates")
+    void shouldReturnConflictWhenStockRetriesExhausted() throws Exception {
+        StockDTO stockDTO = buildStockDTO();
+        when(stockService.getStockById(6L)).thenReturn(StockView.of(buildStock(6L, 60, "E5")));
+        when(stockService.updateStock(eq(6L), any(StockDTO.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Stock.class, 6L));
+
+        mockMvc.perform(put("/api/stocks/6")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stockDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("PUT /api/stocks/{id} should return 412 when If-Match is stale")
+    void shouldReturnPreconditionFailedWhenStockIfMatchIsStale() throws Exception {
+        StockDTO stockDTO = buildStockDTO();
+        when(stockService.getStockById(6L)).thenReturn(StockView.of(buildStock(6L, 60, "E5")));
+        when(stockService.updateStock(eq(6L), any(StockDTO.class), eq("\"1.3\"")))
+                .thenThrow(new OptimisticLockingFailureException("El stock 6 no coincide con If-Match \"1.3\""));
+
+        mockMvc.perform(put("/api/stocks/6")
+                        .header(HttpHeaders.IF_MATCH, "\"1.3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stockDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("POST /api/stocks/{id}/adjust should return the new quantity")
+    void shouldAdjustStock() throws Exception {
+        when(stockService.adjustStock(8L, -3)).thenReturn(new StockQuantity(8L, 108L, 7));
+
+        mockMvc.perform(post("/api/stocks/8/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildAdjustmentDTO(-3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockId").value(8L))
+                .andExpect(jsonPath("$.quantity").value(7));
+    }
+
+    @Test
+    @DisplayName("POST /api/stocks/{id}/adjust should return 409 when quantity would go negative")
+    void shouldReturnConflictWhenAdjustmentUnderflows() throws Exception {
+        when(stockService.adjustStock(8L, -30)).thenReturn(null);
+        when(stockService.existsActiveStock(8L)).thenReturn(true);
+
+        mockMvc.perform(post("/api/stocks/8/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildAdjustmentDTO(-30))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/stocks/{id}/adjust should return 400 when quantity would exceed the integer range")
+    void shouldReturnBadRequestWhenAdjustmentOverflows() throws Exception {
+        when(stockService.adjustStock(8L, Integer.MAX_VALUE)).thenReturn(null);
+        when(stockService.existsActiveStock(8L)).thenReturn(true);
+
+        mockMvc.perform(post("/api/stocks/8/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildAdjustmentDTO(Integer.MAX_VALUE))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/stocks/product/{productId}/adjust should return 404 when stock not found")
+    void shouldReturnNotFoundWhenAdjustingMissingProductStock() throws Exception {
+        when(stockService.adjustStockByProductId(999L, 1)).thenReturn(null);
+        when(stockService.existsActiveStockForProduct(999L)).thenReturn(false);
+
+        mockMvc.perform(post("/api/stocks/product/999/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildAdjustmentDTO(1))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/stocks/product/{productId}/reserve should return the remaining quantity")
+    void shouldReserveStock() throws Exception {
+        when(stockReservationService.reserve(109L, 2))
+                .thenReturn(CompletableFuture.completedFuture(StockReservation.reserved(new StockQuantity(9L, 109L, 8))));
+
+        MvcResult result = mockMvc.perform(post("/api/stocks/product/109/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildReservationDTO(2))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(8));
+    }
+
+    @Test
+    @DisplayName("POST /api/stocks/product/{productId}/reserve should return 409 when stock is insufficient")
+    void shouldReturnConflictWhenReservationExceedsStock() throws Exception {
+        when(stockReservationService.reserve(109L, 20))
+                .thenReturn(CompletableFuture.completedFuture(StockReservation.insufficient(new StockQuantity(9L, 109L, 8))));
+
+        MvcResult result = mockMvc.perform(post("/api/stocks/product/109/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildReservationDTO(20))))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /api/stocks/product/{productId}/reserve should return 503 when the queue is full")
+    void shouldReturnServiceUnavailableWhenReservationQueueIsFull() throws Exception {
+        when(stockReservationService.reserve(109L, 1))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("full")));
+
+        MvcResult result = mockMvc.perform(post("/api/stocks/product/109/reserve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildReservationDTO(1))))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @DisplayName("DELETE /api/stocks/{id} should delete stock when found")
     void shouldDeleteStock() throws Exception {
@@ -170,16 +403,32 @@ class StockControllerTest {
         product.setDescription("Descripción producto " + stockId);
         product.setPrice(BigDecimal.valueOf(50 + stockId));
         product.setState(Boolean.TRUE);
+        product.setVersion(3L);
+        product.setLastUpdate(LocalDateTime.of(2025, 1, 15, 10, 30));
 
         Stock stock = new Stock();
         stock.setId(stockId);
         stock.setProduct(product);
         stock.setQuantity(quantity);
         stock.setLocation(location);
+        stock.setVersion(4L);
+        stock.setLastUpdate(LocalDateTime.of(2025, 1, 16, 8, 0));
         product.setStock(stock);
         return stock;
     }
 
+    private StockAdjustmentDTO buildAdjustmentDTO(int delta) {
+        StockAdjustmentDTO dto = new StockAdjustmentDTO();
+        dto.setDelta(delta);
+        return dto;
+    }
+
+    private StockReservationDTO buildReservationDTO(int quantity) {
+        StockReservationDTO dto = new StockReservationDTO();
+        dto.setQuantity(quantity);
+        return dto;
+    }
+
     private StockDTO buildStockDTO() {
         StockDTO dto = new StockDTO();
         dto.setProductId(101L);
@@ -0,0 +1,89 @@
+package com.gerze.prueba.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("The limit should grow while latency stays flat and shrink when it rises")
+    void shouldFollowLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 10, 40, 2.0, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, limit.getLimit(), 10);
+        }
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, limit.getLimit(), 100);
+        }
+        assertThat(limit.getLimit()).isLessThan(grown).isGreaterThanOrEqualTo(10);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("The limit should not grow while traffic uses less than half of it")
+    void shouldNotGrowWhenUnderused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(30, 10, 40, 2.0, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, 12, 10);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Listings alone should still grow the limit when they are held back by their share")
+    void shouldGrowWithListingsOnly() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 10, 40, 2.0, clock::get);
+
+        int concurrent = 0;
+        for (int i = 0; i < 50; i++) {
+            concurrent = runWindow(limit, RequestPriority.SHEDDABLE, 100, 10);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(40);
+        assertThat(concurrent).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Lower priorities should only use their share of the limit")
+    void shouldReservePermitsForCriticalRequests() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 4, 4, 2.0, clock::get);
+
+        assertThat(limit.tryAcquire(RequestPriority.SHEDDABLE)).isTrue();
+        assertThat(limit.tryAcquire(RequestPriority.SHEDDABLE)).isTrue();
+        assertThat(limit.tryAcquire(RequestPriority.SHEDDABLE)).isFalse();
+        assertThat(limit.tryAcquire(RequestPriority.STANDARD)).isTrue();
+        assertThat(limit.tryAcquire(RequestPriority.STANDARD)).isFalse();
+        assertThat(limit.tryAcquire(RequestPriority.CRITICAL)).isTrue();
+        assertThat(limit.tryAcquire(RequestPriority.CRITICAL)).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(4);
+    }
+
+    private void runWindow(AdaptiveConcurrencyLimit limit, int requests, long latencyMillis) {
+        runWindow(limit, RequestPriority.CRITICAL, requests, latencyMillis);
+    }
+
+    private int runWindow(AdaptiveConcurrencyLimit limit, RequestPriority priority, int requests, long latencyMillis) {
+        int acquired = 0;
+        while (acquired < requests && limit.tryAcquire(priority)) {
+            acquired++;
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        for (int i = 0; i < acquired; i++) {
+            limit.release(priority, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        }
+        return acquired;
+    }
+}
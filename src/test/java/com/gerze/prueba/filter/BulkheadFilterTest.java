@@ -0,0 +1,181 @@
+package com.gerze.prueba.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class BulkheadFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Requests beyond the concurrency limit should be rejected with 503 and Retry-After")
+    void shouldRejectWhenNoPermitIsAvailable() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(fixedLimit(1), 2, meterRegistry);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServlet blockingServlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(),
+                    new MockFilterChain(blockingServlet));
+            return null;
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/1"), rejected, new MockFilterChain());
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/1"), accepted, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(accepted.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get(BulkheadFilter.REJECTED_METRIC).tag("priority", "critical").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(BulkheadFilter.IN_FLIGHT_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Listings should be shed before single-id reads and stock adjustments")
+    void shouldShedListingsFirst() throws Exception {
+        AdaptiveConcurrencyLimit limit = fixedLimit(4);
+        BulkheadFilter filter = new BulkheadFilter(limit, 2, meterRegistry);
+        assertThat(limit.tryAcquire(RequestPriority.SHEDDABLE)).isTrue();
+        assertThat(limit.tryAcquire(RequestPriority.SHEDDABLE)).isTrue();
+
+        MockHttpServletResponse listing = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), listing, new MockFilterChain());
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/stocks/1"), read, new MockFilterChain());
+        MockHttpServletResponse adjustment = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/stocks/product/1/reserve"), adjustment,
+                new MockFilterChain());
+
+        assertThat(listing.getStatus()).isEqualTo(503);
+        assertThat(read.getStatus()).isEqualTo(200);
+        assertThat(adjustment.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get(BulkheadFilter.REJECTED_METRIC).tag("priority", "sheddable").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(BulkheadFilter.LIMIT_METRIC).gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Catalog exports should use their own small cap instead of the adaptive limit")
+    void shouldCapExportsSeparately() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(fixedLimit(1), 1, null);
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/export/catalog");
+        export.setAsyncSupported(true);
+        MockFilterChain asyncChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.startAsync();
+            }
+        });
+        filter.doFilter(export, new MockHttpServletResponse(), asyncChain);
+
+        MockHttpServletResponse secondExport = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/export/catalog"), secondExport, new MockFilterChain());
+        MockHttpServletResponse listing = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), listing, new MockFilterChain());
+        export.getAsyncContext().complete();
+        MockHttpServletResponse afterExport = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/export/catalog"), afterExport, new MockFilterChain());
+
+        assertThat(secondExport.getStatus()).isEqualTo(503);
+        assertThat(listing.getStatus()).isEqualTo(200);
+        assertThat(afterExport.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Requests should be classified by how expensive they are")
+    void shouldClassifyRequests() {
+        assertThat(RequestPriority.of(new MockHttpServletRequest("GET", "/api/products/7")))
+                .isEqualTo(RequestPriority.CRITICAL);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("POST", "/api/stocks/3/adjust")))
+                .isEqualTo(RequestPriority.CRITICAL);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("PUT", "/api/stocks/3")))
+                .isEqualTo(RequestPriority.STANDARD);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("GET", "/api/stocks/summary")))
+                .isEqualTo(RequestPriority.STANDARD);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("GET", "/api/products/search")))
+                .isEqualTo(RequestPriority.SHEDDABLE);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("POST", "/api/stocks/bulk")))
+                .isEqualTo(RequestPriority.SHEDDABLE);
+        assertThat(RequestPriority.of(new MockHttpServletRequest("DELETE", "/api/products")))
+                .isEqualTo(RequestPriority.SHEDDABLE);
+    }
+
+    @Test
+    @DisplayName("Requests outside /api should bypass the bulkhead")
+    void shouldIgnoreNonApiRequests() throws Exception {
+        BulkheadFilter filter = saturatedFilter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("The long-lived stock stream should not hold a bulkhead permit")
+    void shouldIgnoreStockStream() throws Exception {
+        BulkheadFilter filter = saturatedFilter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/stocks/stream"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Reactive reads should be bounded by the R2DBC pool instead of the bulkhead")
+    void shouldIgnoreReactiveReads() throws Exception {
+        BulkheadFilter filter = saturatedFilter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/reactive/products"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    private AdaptiveConcurrencyLimit fixedLimit(int limit) {
+        return new AdaptiveConcurrencyLimit(limit, limit, limit, 2.0, System::nanoTime);
+    }
+
+    private BulkheadFilter saturatedFilter() {
+        AdaptiveConcurrencyLimit limit = fixedLimit(1);
+        limit.tryAcquire(RequestPriority.CRITICAL);
+        return new BulkheadFilter(limit, 2, meterRegistry);
+    }
+}
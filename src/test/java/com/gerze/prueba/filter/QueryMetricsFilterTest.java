@@ -0,0 +1,92 @@
+package com.gerze.prueba.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class QueryMetricsFilterTest {
+
+    @Test
+    @DisplayName("Statements and rows recorded during a request should be published per endpoint pattern")
+    void shouldRecordStatementsAndRowsPerEndpoint() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryMetricsFilter filter = new QueryMetricsFilter(provider(registry));
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/stocks");
+                for (int i = 0; i < 3; i++) {
+                    RequestQueryStats.recordStatement();
+                    RequestQueryStats.recordRow();
+                    RequestQueryStats.recordRow();
+                }
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/stocks"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+        RequestQueryStats.recordStatement();
+
+        DistributionSummary statements = registry.get(QueryMetricsFilter.STATEMENTS_METRIC)
+                .tag("method", "GET").tag("uri", "/api/stocks").summary();
+        DistributionSummary rows = registry.get(QueryMetricsFilter.ROWS_METRIC)
+                .tag("method", "GET").tag("uri", "/api/stocks").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        assertThat(rows.totalAmount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Async requests should not be recorded because their statements run on other threads")
+    void shouldSkipAsyncRequests() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryMetricsFilter filter = new QueryMetricsFilter(provider(registry));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/products");
+        request.setAsyncSupported(true);
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/export/products");
+                request.startAsync();
+            }
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+        assertThat(request.isAsyncStarted()).isTrue();
+        assertThat(registry.find(QueryMetricsFilter.STATEMENTS_METRIC).summary()).isNull();
+        assertThat(registry.find(QueryMetricsFilter.ROWS_METRIC).summary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Requests outside the API should not be measured")
+    void shouldIgnoreNonApiRequests() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryMetricsFilter filter = new QueryMetricsFilter(provider(registry));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertThat(registry.find(QueryMetricsFilter.STATEMENTS_METRIC).summary()).isNull();
+    }
+
+    private static ObjectProvider<MeterRegistry> provider(MeterRegistry registry) {
+        return new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gerze.prueba.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@JdbcTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import(CatalogExportRepository.class)
+class CatalogExportRepositoryTest {
+
+    @Autowired
+    private CatalogExportRepository catalogExportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("The catalog export should copy active products with their stock as CSV")
+    void shouldCopyActiveCatalogAsCsv() throws Exception {
+        jdbcTemplate.update("insert into productos (nombre, descripcion, precio) values ('Sin stock', 'Uno, dos', 1)");
+        jdbcTemplate.update("insert into productos (nombre, precio, estado) values ('Inactivo', 2, false)");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = catalogExportRepository.copyCatalog(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(4);
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).isEqualTo("id,name,description,price,creation_date,last_update,"
+                + "stock_id,stock_quantity,stock_location,stock_last_update");
+        assertThat(lines[1]).startsWith("1,Teclado Mecánico,Teclado retroiluminado con switches azules,45.99,")
+                .contains(",1,10,Bodega Central,");
+        assertThat(lines[3]).startsWith("3,\"Monitor 24\"\"\",");
+        assertThat(lines[4]).startsWith("4,Sin stock,\"Uno, dos\",1.00,").endsWith(",,,,");
+    }
+}
@@ -0,0 +1,147 @@
+package com.gerze.prueba.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import(ProductQueryPlanTest.SqlCapture.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductQueryPlanTest {
+
+    private static final int PRODUCTS = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    @BeforeAll
+    void seedLargeCatalog() {
+        jdbcTemplate.update("delete from stock");
+        jdbcTemplate.update("delete from productos");
+        jdbcTemplate.update("""
+                insert into productos (id, nombre, descripcion, precio, estado)
+                select g, 'Producto ' || g, 'Descripción ' || g, 10, g % 10 < 3
+                  from generate_series(1, ?) g
+                """, PRODUCTS);
+        jdbcTemplate.update("insert into stock (producto_id, cantidad) select id, 1 from productos");
+        jdbcTemplate.execute("analyze productos");
+        jdbcTemplate.execute("analyze stock");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("delete from stock");
+        jdbcTemplate.update("delete from productos");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, PRODUCTS / 2, PRODUCTS - 1000})
+    @DisplayName("Listing active products should read the partial index instead of scanning productos")
+    void shouldListActiveProductsThroughPartialIndex(int after) throws Exception {
+        List<JsonNode> scans = productosScans(
+                sqlCapture.capture(() -> productRepository.findViewsAfter((long) after, Limit.of(50))));
+
+        assertThat(scans).extracting(node -> node.path("Node Type").asText()).doesNotContain("Seq Scan");
+        assertThat(scans).extracting(node -> node.path("Index Name").asText()).contains("idx_productos_activos_id");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, PRODUCTS / 2})
+    @DisplayName("Listing active product summaries should read the partial index instead of scanning productos")
+    void shouldListActiveSummariesThroughPartialIndex(int after) throws Exception {
+        List<JsonNode> scans = productosScans(
+                sqlCapture.capture(() -> productRepository.findSummariesAfter((long) after, Limit.of(50))));
+
+        assertThat(scans).extracting(node -> node.path("Node Type").asText()).doesNotContain("Seq Scan");
+        assertThat(scans).extracting(node -> node.path("Index Name").asText()).contains("idx_productos_activos_id");
+    }
+
+    private List<JsonNode> productosScans(QueryInfo query) throws Exception {
+        Object[] parameters = query.getParametersList().get(0).stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> operation.getArgs()[1])
+                .toArray();
+        String plan = jdbcTemplate.queryForObject("explain (format json) " + query.getQuery(), String.class,
+                parameters);
+        List<JsonNode> scans = new ArrayList<>();
+        collectScans(objectMapper.readTree(plan).get(0).get("Plan"), scans);
+        return scans;
+    }
+
+    private static void collectScans(JsonNode node, List<JsonNode> scans) {
+        if ("productos".equals(node.path("Relation Name").asText())) {
+            scans.add(node);
+        }
+        node.path("Plans").forEach(child -> collectScans(child, scans));
+    }
+
+    static class SqlCapture implements BeanPostProcessor {
+
+        private final List<QueryInfo> executed = new ArrayList<>();
+        private boolean capturing;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .afterQuery((execution, queries) -> {
+                        if (capturing) {
+                            executed.addAll(queries);
+                        }
+                    })
+                    .build();
+        }
+
+        QueryInfo capture(Runnable action) {
+            executed.clear();
+            capturing = true;
+            try {
+                action.run();
+            } finally {
+                capturing = false;
+            }
+            assertThat(executed).hasSize(1);
+            return executed.get(0);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.gerze.prueba.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import com.gerze.prueba.model.Product;
+import com.gerze.prueba.model.ProductView;
+import com.gerze.prueba.model.Stock;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.getEntityManager().createNativeQuery("delete from stock").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("delete from productos").executeUpdate();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    @DisplayName("Listing active products should issue a single statement without materializing entities")
+    void shouldListProductViewsInOneStatement(int size) {
+        persistProducts(size);
+
+        List<ProductView> products = productRepository.findViewsAfter(0L, Limit.of(100));
+
+        assertThat(products).hasSize(size);
+        assertThat(products).allSatisfy(product -> assertThat(product.stock().quantity()).isEqualTo(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 40})
+    @DisplayName("Loading a product by id should fetch its stock in the same statement")
+    void shouldFindProductWithStockInOneStatement(int size) {
+        Long id = persistProducts(size).get(0).getId();
+
+        Product product = productRepository.findByIdAndStateTrue(id).orElseThrow();
+
+        assertThat(product.getStock().getQuantity()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Loading a product view by id should not touch the persistence context")
+    void shouldFindProductViewWithoutManagedEntities() {
+        Product persisted = persistProducts(1).get(0);
+
+        ProductView product = productRepository.findViewById(persisted.getId()).orElseThrow();
+
+        assertThat(product.name()).isEqualTo(persisted.getName());
+        assertThat(product.version()).isZero();
+        assertThat(product.stock().id()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Product views should keep products without stock")
+    void shouldReturnProductViewWithoutStock() {
+        Long id = persistProducts(1).get(0).getId();
+        entityManager.getEntityManager().createNativeQuery("delete from stock").executeUpdate();
+
+        assertThat(productRepository.findViewById(id)).hasValueSatisfying(product -> assertThat(product.stock()).isNull());
+    }
+
+    @Test
+    @DisplayName("Inactive products should be filtered out by the query itself")
+    void shouldNotLoadInactiveProductById() {
+        Long id = persistProducts(1).get(0).getId();
+        entityManager.getEntityManager().createNativeQuery("update productos set estado = false").executeUpdate();
+
+        assertThat(productRepository.findByIdAndStateTrue(id)).isEmpty();
+        assertThat(productRepository.findViewById(id)).isEmpty();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 40})
+    @DisplayName("Listing product summaries should issue a single statement without touching stock")
+    void shouldListSummariesInOneStatement(int size) {
+        persistProducts(size);
+
+        assertThat(productRepository.findSummariesAfter(0L, Limit.of(100))).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private List<Product> persistProducts(int size) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setDescription("Descripción " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setState(Boolean.TRUE);
+            entityManager.persist(product);
+
+            Stock stock = new Stock();
+            stock.setProduct(product);
+            stock.setQuantity(1);
+            entityManager.persist(stock);
+            products.add(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return products;
+    }
+}
@@ -0,0 +1,85 @@
+package com.gerze.prueba.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gerze.prueba.model.ProductSearchMode;
+import com.gerze.prueba.model.ProductSummary;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@JdbcTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import(ProductSearchRepository.class)
+class ProductSearchRepositoryTest {
+
+    @Autowired
+    private ProductSearchRepository productSearchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from stock");
+        jdbcTemplate.update("delete from productos");
+        insert(1, "Teclado Mecánico", "Teclado retroiluminado con switches azules", true);
+        insert(2, "Mouse Inalámbrico", "Mouse ergonómico para teclado y monitor", true);
+        insert(3, "Monitor 24\"", "Monitor Full HD con entrada HDMI", true);
+        insert(4, "Teclado Numérico", "Producto descontinuado", false);
+        insert(5, "Funda 100% algodón", null, true);
+    }
+
+    @Test
+    @DisplayName("Prefix search should match the start of name or description, name matches first")
+    void shouldSearchByPrefix() {
+        assertThat(ids("tecl", ProductSearchMode.PREFIX)).containsExactly(1L);
+        assertThat(ids("MOUSE", ProductSearchMode.PREFIX)).containsExactly(2L);
+        assertThat(ids("monitor", ProductSearchMode.PREFIX)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Substring search should match anywhere, rank name matches first and treat wildcards literally")
+    void shouldSearchBySubstring() {
+        assertThat(ids("clado", ProductSearchMode.SUBSTRING)).containsExactly(1L, 2L);
+        assertThat(ids("100%", ProductSearchMode.SUBSTRING)).containsExactly(5L);
+        assertThat(ids("%", ProductSearchMode.SUBSTRING)).containsExactly(5L);
+    }
+
+    @Test
+    @DisplayName("Full-text search should stem words and rank name hits above description hits")
+    void shouldSearchFullText() {
+        assertThat(ids("teclados", ProductSearchMode.FULLTEXT)).containsExactly(1L, 2L);
+        assertThat(ids("monitor hdmi", ProductSearchMode.FULLTEXT)).containsExactly(3L);
+        assertThat(ids("teclado -mouse", ProductSearchMode.FULLTEXT)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Search results should be paginated with limit and offset")
+    void shouldPaginateResults() {
+        assertThat(productSearchRepository.search("teclado", ProductSearchMode.FULLTEXT, 1, 0))
+                .extracting(ProductSummary::id).containsExactly(1L);
+        assertThat(productSearchRepository.search("teclado", ProductSearchMode.FULLTEXT, 1, 1))
+                .extracting(ProductSummary::id).containsExactly(2L);
+        assertThat(productSearchRepository.search("teclado", ProductSearchMode.FULLTEXT, 1, 2)).isEmpty();
+    }
+
+    private List<Long> ids(String query, ProductSearchMode mode) {
+        return productSearchRepository.search(query, mode, 50, 0).stream().map(ProductSummary::id).toList();
+    }
+
+    private void insert(long id, String name, String description, boolean state) {
+        jdbcTemplate.update("insert into productos (id, nombre, descripcion, precio, estado) values (?, ?, ?, 10, ?)",
+                id, name, description, state);
+    }
+}
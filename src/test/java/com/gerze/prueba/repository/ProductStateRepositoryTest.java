@@ -0,0 +1,68 @@
+package com.gerze.prueba.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gerze.prueba.config.QueryMetricsConfig;
+import com.gerze.prueba.filter.RequestQueryStats;
+import com.gerze.prueba.model.ProductDeactivation;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@JdbcTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({ProductStateRepository.class, QueryMetricsConfig.class})
+class ProductStateRepositoryTest {
+
+    @Autowired
+    private ProductStateRepository productStateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deactivation should flag the products and empty their stock in a single statement")
+    void shouldDeactivateProductsAndStockInOneStatement() {
+        jdbcTemplate.update("insert into productos (nombre, precio) values ('Sin stock', 1)");
+        Long withoutStock = jdbcTemplate.queryForObject("select max(id) from productos", Long.class);
+
+        RequestQueryStats stats = RequestQueryStats.begin();
+        List<ProductDeactivation> deactivated;
+        try {
+            deactivated = productStateRepository.deactivate(List.of(2L, 1L, withoutStock, 999L));
+        } finally {
+            RequestQueryStats.end();
+        }
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(deactivated).containsExactly(
+                new ProductDeactivation(1L, 1L),
+                new ProductDeactivation(2L, 2L),
+                new ProductDeactivation(withoutStock, null));
+        assertThat(jdbcTemplate.queryForList("select estado from productos where id in (1, 2)", Boolean.class))
+                .containsOnly(false);
+        assertThat(jdbcTemplate.queryForList("select cantidad from stock where producto_id in (1, 2)", Integer.class))
+                .containsOnly(0);
+        assertThat(jdbcTemplate.queryForList("select version from productos where id in (1, 2)", Long.class))
+                .containsOnly(1L);
+    }
+
+    @Test
+    @DisplayName("Already inactive products should not be reported again")
+    void shouldIgnoreInactiveProducts() {
+        jdbcTemplate.update("update productos set estado = false where id = 3");
+
+        assertThat(productStateRepository.deactivate(List.of(3L))).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select cantidad from stock where producto_id = 3", Integer.class))
+                .isEqualTo(5);
+    }
+}
@@ -0,0 +1,112 @@
+package com.gerze.prueba.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.model.StockBulkChange;
+import com.gerze.prueba.model.StockQuantity;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import(StockQuantityRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockQuantityRepositoryTest {
+
+    @Autowired
+    private StockQuantityRepository stockQuantityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Adjustments should apply the delta and reject results below zero")
+    void shouldAdjustAndRejectNegativeResults() {
+        assertThat(stockQuantityRepository.adjustById(3L, 2)).contains(new StockQuantity(3L, 3L, 7));
+        assertThat(stockQuantityRepository.adjustById(3L, -8)).isEmpty();
+        assertThat(stockQuantityRepository.adjustByProductId(3L, -7)).contains(new StockQuantity(3L, 3L, 0));
+    }
+
+    @Test
+    @DisplayName("Adjustments past the integer range should be rejected instead of failing")
+    void shouldRejectAdjustmentsThatOverflow() {
+        jdbcTemplate.update("update stock set cantidad = 5 where id = 3");
+
+        assertThat(stockQuantityRepository.adjustById(3L, Integer.MAX_VALUE)).isEmpty();
+        assertThat(stockQuantityRepository.adjustByProductId(3L, Integer.MAX_VALUE - 5))
+                .contains(new StockQuantity(3L, 3L, Integer.MAX_VALUE));
+        assertThat(stockQuantityRepository.adjustById(3L, 1)).isEmpty();
+
+        jdbcTemplate.update("update stock set cantidad = 5 where id = 3");
+    }
+
+    @Test
+    @DisplayName("Adjustments should ignore stock of inactive products")
+    void shouldIgnoreInactiveProducts() {
+        jdbcTemplate.update("update productos set estado = false where id = 2");
+
+        assertThat(stockQuantityRepository.adjustById(2L, 1)).isEmpty();
+        assertThat(stockQuantityRepository.adjustByProductId(2L, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Concurrent decrements should never lose updates nor oversell")
+    void shouldNotLoseConcurrentDecrements() throws Exception {
+        jdbcTemplate.update("update stock set cantidad = 100 where id = 1");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> decrements = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            decrements.add(() -> stockQuantityRepository.adjustById(1L, -1).isPresent());
+        }
+
+        int applied = 0;
+        for (Future<Boolean> result : executor.invokeAll(decrements)) {
+            applied += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(applied).isEqualTo(100);
+        assertThat(jdbcTemplate.queryForObject("select cantidad from stock where id = 1", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Bulk changes should set quantities and locations in one statement")
+    void shouldSetQuantitiesByProductIds() {
+        long first = insertProductWithStock(10, "A1", true);
+        long second = insertProductWithStock(10, "B2", true);
+
+        stockQuantityRepository.setByProductIds(List.of(
+                new StockBulkChange(first, 7, 0, null),
+                new StockBulkChange(second, 0, 0, "C3")));
+
+        assertThat(jdbcTemplate.queryForList(
+                "select cantidad || ':' || ubicacion || ':' || version from stock where producto_id in (?, ?) order by producto_id",
+                String.class, first, second)).containsExactly("7:A1:1", "0:C3:1");
+    }
+
+    private long insertProductWithStock(int quantity, String location, boolean active) {
+        Long productId = jdbcTemplate.queryForObject(
+                "insert into productos (nombre, precio, estado) values ('Masivo', 1, ?) returning id::bigint",
+                Long.class, active);
+        jdbcTemplate.update("insert into stock (producto_id, cantidad, ubicacion) values (?, ?, ?)",
+                productId, quantity, location);
+        return productId;
+    }
+}
@@ -0,0 +1,154 @@
+package com.gerze.prueba.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gerze.prueba.model.StockBulkChange;
+import com.gerze.prueba.model.StockSummary.LocationSummary;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@JdbcTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({StockSummaryRepository.class, StockQuantityRepository.class, ProductStateRepository.class})
+class StockSummaryRepositoryTest {
+
+    @Autowired
+    private StockSummaryRepository stockSummaryRepository;
+
+    @Autowired
+    private StockQuantityRepository stockQuantityRepository;
+
+    @Autowired
+    private ProductStateRepository productStateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("The migration should load the aggregates from the existing stock")
+    void shouldSummarizeExistingStock() {
+        assertThat(stockSummaryRepository.findLocations()).containsExactly(
+                new LocationSummary("Bodega Central", 2, 15, new BigDecimal("1059.90"), 0),
+                new LocationSummary("Sucursal Norte", 1, 20, new BigDecimal("510.00"), 0));
+    }
+
+    @Test
+    @DisplayName("Every kind of write should keep the aggregates equal to a full recomputation")
+    void shouldMaintainAggregatesIncrementally() {
+        jdbcTemplate.update("insert into productos (id, nombre, precio) values (10, 'Nuevo', 2), (11, 'Otro', 3)");
+        jdbcTemplate.update("insert into stock (producto_id, cantidad) values (10, 4), (11, 0)");
+        stockQuantityRepository.adjustById(1L, -10);
+        jdbcTemplate.update("update productos set precio = 50 where id = 2");
+        jdbcTemplate.update("update stock set ubicacion = 'Sucursal Norte' where id = 3");
+        stockQuantityRepository.setByProductIds(List.of(new StockBulkChange(10L, 6, 0, "Bodega Central")));
+        productStateRepository.deactivate(List.of(2L, 11L));
+        jdbcTemplate.update("delete from stock where producto_id = 10");
+
+        assertThat(stockSummaryRepository.findLocations()).containsExactly(
+                new LocationSummary("Bodega Central", 1, 0, new BigDecimal("0.00"), 1),
+                new LocationSummary("Sucursal Norte", 1, 5, new BigDecimal("600.00"), 0));
+        assertThat(stockSummaryRepository.findDriftedLocations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Aggregates should stay exact when an inactive product still has stock")
+    void shouldIgnoreStockOfInactiveProducts() {
+        productStateRepository.deactivate(List.of(2L));
+        jdbcTemplate.update("update stock set cantidad = 7 where producto_id = 2");
+        jdbcTemplate.update("update productos set estado = true where id = 2");
+
+        assertThat(stockSummaryRepository.findLocations()).containsExactly(
+                new LocationSummary("Bodega Central", 2, 15, new BigDecimal("1059.90"), 0),
+                new LocationSummary("Sucursal Norte", 1, 7, new BigDecimal("178.50"), 0));
+        assertThat(stockSummaryRepository.findDriftedLocations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Writes should leave deltas that folding moves into the aggregates without changing the summary")
+    void shouldFoldDeltas() {
+        stockQuantityRepository.adjustById(1L, -10);
+        stockQuantityRepository.adjustById(3L, 2);
+
+        List<LocationSummary> expected = List.of(
+                new LocationSummary("Bodega Central", 2, 7, new BigDecimal("840.00"), 1),
+                new LocationSummary("Sucursal Norte", 1, 20, new BigDecimal("510.00"), 0));
+        assertThat(stockSummaryRepository.findLocations()).isEqualTo(expected);
+        assertThat(storedUnits("Bodega Central")).isEqualTo(15);
+        assertThat(deltaCount()).isEqualTo(2);
+
+        assertThat(stockSummaryRepository.foldDeltas()).isEqualTo(1);
+
+        assertThat(deltaCount()).isZero();
+        assertThat(storedUnits("Bodega Central")).isEqualTo(7);
+        assertThat(stockSummaryRepository.findLocations()).isEqualTo(expected);
+        assertThat(stockSummaryRepository.findDriftedLocations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Concurrent writes to different stock in the same location should not wait for each other")
+    void shouldNotSerializeWritesToTheSameLocation() throws SQLException {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection();
+                Statement firstStatement = first.createStatement();
+                Statement secondStatement = second.createStatement()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            secondStatement.execute("set local lock_timeout = '2s'");
+
+            firstStatement.executeUpdate("update stock set cantidad = cantidad - 1 where id = 1");
+            assertThat(secondStatement.executeUpdate("update stock set cantidad = cantidad - 1 where id = 3"))
+                    .isEqualTo(1);
+
+            second.rollback();
+            first.rollback();
+        }
+    }
+
+    @Test
+    @DisplayName("Reconciliation should repair aggregates that drifted from the stock table")
+    void shouldRepairDrift() {
+        jdbcTemplate.update("update stock_resumen set unidades = 0, valor = 0 where ubicacion = 'Bodega Central'");
+        jdbcTemplate.update("insert into stock_resumen (ubicacion, productos, unidades) values ('Fantasma', 1, 3)");
+        jdbcTemplate.update("update stock_resumen_filas set unidades = 0 where stock_id = 2");
+
+        assertThat(stockSummaryRepository.tryLockReconciliation()).isTrue();
+        assertThat(stockSummaryRepository.findDriftedLocations()).containsExactly("Bodega Central", "Fantasma");
+        assertThat(stockSummaryRepository.repair()).containsExactly("Bodega Central", "Fantasma");
+
+        assertThat(stockSummaryRepository.findLocations()).containsExactly(
+                new LocationSummary("Bodega Central", 2, 15, new BigDecimal("1059.90"), 0),
+                new LocationSummary("Sucursal Norte", 1, 20, new BigDecimal("510.00"), 0));
+        assertThat(stockSummaryRepository.findDriftedLocations()).isEmpty();
+
+        jdbcTemplate.update("update stock set cantidad = cantidad - 1 where id = 2");
+        assertThat(stockSummaryRepository.findLocations()).contains(
+                new LocationSummary("Sucursal Norte", 1, 19, new BigDecimal("484.50"), 0));
+    }
+
+    private long storedUnits(String location) {
+        return jdbcTemplate.queryForObject("select unidades from stock_resumen where ubicacion = ?", Long.class,
+                location);
+    }
+
+    private long deltaCount() {
+        return jdbcTemplate.queryForObject("select count(*) from stock_resumen_deltas", Long.class);
+    }
+}
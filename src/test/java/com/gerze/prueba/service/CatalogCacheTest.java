@@ -0,0 +1,118 @@
+package com.gerze.prueba.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.controller.DTOs.ProductDTO;
+import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.repository.ProductRepository;
+import com.gerze.prueba.repository.ProductSearchRepository;
+import com.gerze.prueba.repository.ProductStateRepository;
+import com.gerze.prueba.repository.StockQuantityRepository;
+import com.gerze.prueba.repository.StockSummaryRepository;
+import com.gerze.prueba.repository.StockRepository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({CacheConfig.class, CatalogCache.class, ProductService.class, StockService.class, StockQuantityRepository.class,
+        ProductSearchRepository.class, ProductStateRepository.class,
+        StockSummaryRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockService stockService;
+
+    @MockitoSpyBean
+    private ProductRepository productRepository;
+
+    @MockitoSpyBean
+    private StockRepository stockRepository;
+
+    @Test
+    @DisplayName("Product lookups should be served from cache until the product is updated")
+    void shouldCacheProductUntilUpdated() {
+        productService.getProductById(1L);
+        productService.getProductById(1L);
+        verify(productRepository, times(1)).findViewById(1L);
+
+        ProductDTO dto = new ProductDTO();
+        dto.setName("Teclado actualizado");
+        dto.setPrice(BigDecimal.valueOf(50));
+        productService.updateProduct(1L, dto);
+
+        assertThat(productService.getProductById(1L).name()).isEqualTo("Teclado actualizado");
+        verify(productRepository, times(2)).findViewById(1L);
+    }
+
+    @Test
+    @DisplayName("Stock updates should evict the cached stock and its product")
+    void shouldEvictStockAndProductOnStockUpdate() {
+        stockService.getStockById(2L);
+        stockService.getStockById(2L);
+        productService.getProductById(2L);
+        verify(stockRepository, times(1)).findViewById(2L);
+        verify(productRepository, times(1)).findViewById(2L);
+
+        StockDTO dto = new StockDTO();
+        dto.setProductId(2L);
+        dto.setQuantity(42);
+        dto.setLocation("Sucursal Norte");
+        stockService.updateStock(2L, dto);
+
+        assertThat(stockService.getStockById(2L).quantity()).isEqualTo(42);
+        assertThat(productService.getProductById(2L).stock().quantity()).isEqualTo(42);
+        verify(stockRepository, times(2)).findViewById(2L);
+        verify(productRepository, times(2)).findViewById(2L);
+    }
+
+    @Test
+    @DisplayName("A stock adjustment should only evict the product pages that contain its product")
+    void shouldEvictOnlyPagesWithAdjustedProduct() {
+        productService.getProducts(0L, 1);
+        int quantity = productService.getProducts(1L, 1).get(0).stock().quantity();
+        verify(productRepository, times(1)).findViewsAfter(eq(0L), any());
+        verify(productRepository, times(1)).findViewsAfter(eq(1L), any());
+
+        stockService.adjustStock(2L, 1);
+
+        assertThat(productService.getProducts(0L, 1).get(0).id()).isEqualTo(1L);
+        assertThat(productService.getProducts(1L, 1).get(0).stock().quantity()).isEqualTo(quantity + 1);
+        verify(productRepository, times(1)).findViewsAfter(eq(0L), any());
+        verify(productRepository, times(2)).findViewsAfter(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Soft delete should evict the cached product and its stock")
+    void shouldEvictProductAndStockOnDelete() {
+        assertThat(productService.getProductById(3L)).isNotNull();
+        assertThat(stockService.getStockById(3L)).isNotNull();
+
+        assertThat(productService.deleteProduct(3L)).isTrue();
+
+        assertThat(productService.getProductById(3L)).isNull();
+        assertThat(stockService.getStockById(3L)).isNull();
+        assertThat(productService.deleteProduct(3L)).isFalse();
+    }
+}
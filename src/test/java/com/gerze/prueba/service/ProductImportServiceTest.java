@@ -0,0 +1,113 @@
+package com.gerze.prueba.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.controller.DTOs.ProductImportResultDTO;
+import com.gerze.prueba.repository.ProductBulkRepository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest(properties = "app.products.bulk.batch-size=2")
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({CacheConfig.class, CatalogCache.class, ProductBulkRepository.class, ProductImportService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from productos");
+    }
+
+    @Test
+    @DisplayName("JSON import should insert valid rows in batches and report invalid ones")
+    void shouldImportJsonAndReportFailures() throws Exception {
+        String json = """
+                [
+                  {"name": "A", "price": 1.50},
+                  {"name": "", "price": 2},
+                  {"name": "C", "price": "abc"},
+                  {"name": "D", "description": "d", "price": 4},
+                  {"name": "E", "price": 5}
+                ]
+                """;
+
+        ProductImportResultDTO result = productImportService.importJson(stream(json));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ProductImportResultDTO.RowError::row).containsExactly(2L, 3L);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from productos p join stock s on s.producto_id = p.id where s.cantidad = 1",
+                Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A row the database rejects should be reported without losing the rest of its batch")
+    void shouldRetryFailedBatchRowByRow() throws Exception {
+        String json = """
+                [
+                  {"name": "A", "price": 1},
+                  {"name": "B\\u0000", "price": 2},
+                  {"name": "%s", "price": 3},
+                  {"name": "D", "price": 12345678901}
+                ]
+                """.formatted("x".repeat(151));
+
+        ProductImportResultDTO result = productImportService.importJson(stream(json));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(ProductImportResultDTO.RowError::row).containsExactly(2L, 3L, 4L);
+        assertThat(result.getErrors().get(0).messages()).singleElement().asString().startsWith("No se pudo guardar la fila");
+        assertThat(jdbcTemplate.queryForList("select nombre from productos", String.class)).containsExactly("A");
+    }
+
+    @Test
+    @DisplayName("CSV import should map header columns and validate each row")
+    void shouldImportCsv() throws Exception {
+        String csv = """
+                name,description,price
+                X,"con, coma",3.25
+                Y,,
+                Z,zz,7
+                """;
+
+        ProductImportResultDTO result = productImportService.importCsv(stream(csv));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.messages()).containsExactly("El precio del producto es obligatorio"));
+        assertThat(jdbcTemplate.queryForList("select descripcion from productos order by id", String.class))
+                .containsExactly("con, coma", "zz");
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package com.gerze.prueba.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.controller.DTOs.StockBulkResultDTO;
+import com.gerze.prueba.controller.DTOs.StockBulkResultDTO.ItemResult;
+import com.gerze.prueba.model.StockBulkOutcome.Status;
+import com.gerze.prueba.repository.StockQuantityRepository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest(properties = "app.stock.bulk.chunk-size=2")
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({CacheConfig.class, CatalogCache.class, StockQuantityRepository.class, StockBulkService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockBulkServiceTest {
+
+    @Autowired
+    private StockBulkService stockBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                update stock
+                   set cantidad = case id when 1 then 10 when 2 then 20 else 5 end,
+                       ubicacion = case id when 2 then 'Sucursal Norte' else 'Bodega Central' end
+                """);
+    }
+
+    @Test
+    @DisplayName("Bulk sync should apply items in chunks and in input order, reporting each item")
+    void shouldApplyItemsAndReportEachOne() throws Exception {
+        String json = """
+                [
+                  {"productId": 1, "delta": 5},
+                  {"productId": 2, "quantity": 7, "location": "Sucursal Sur"},
+                  {"productId": 3, "delta": -6},
+                  {"productId": 1, "quantity": 1, "delta": 1},
+                  {"productId": 404, "delta": 1},
+                  {"productId": 2, "quantity": 3},
+                  {"productId": 2, "delta": 4},
+                  {"productId": "x", "delta": 1}
+                ]
+                """;
+
+        StockBulkResultDTO result = stockBulkService.applyJson(stream(json));
+
+        assertThat(result.getUpdated()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(4);
+        assertThat(result.getItems())
+                .extracting(ItemResult::item, ItemResult::status, ItemResult::quantity)
+                .containsExactly(
+                        tuple(1L, Status.UPDATED, 15),
+                        tuple(2L, Status.UPDATED, 7),
+                        tuple(3L, Status.INSUFFICIENT_STOCK, 5),
+                        tuple(4L, Status.INVALID, null),
+                        tuple(5L, Status.NOT_FOUND, null),
+                        tuple(6L, Status.UPDATED, 3),
+                        tuple(7L, Status.UPDATED, 7),
+                        tuple(8L, Status.INVALID, null));
+        assertThat(jdbcTemplate.queryForList("select cantidad || ':' || coalesce(ubicacion, '') from stock order by id",
+                String.class)).containsExactly("15:Bodega Central", "7:Sucursal Sur", "5:Bodega Central");
+    }
+
+    @Test
+    @DisplayName("Each item should be applied on its own, so an invalid item does not undo the previous ones")
+    void shouldApplyItemsIndependently() throws Exception {
+        String json = """
+                [
+                  {"productId": 1, "delta": -1},
+                  {"productId": 1, "delta": -100},
+                  {"productId": 1, "delta": 2147483647},
+                  {"productId": 2, "delta": 1, "location": "%s"},
+                  {"productId": 1, "delta": 1, "location": "Sucursal Sur"}
+                ]
+                """.formatted("x".repeat(101));
+
+        StockBulkResultDTO result = stockBulkService.applyJson(stream(json));
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getItems())
+                .extracting(ItemResult::item, ItemResult::status, ItemResult::quantity)
+                .containsExactly(
+                        tuple(1L, Status.UPDATED, 9),
+                        tuple(2L, Status.INSUFFICIENT_STOCK, 9),
+                        tuple(3L, Status.INVALID, 9),
+                        tuple(4L, Status.INVALID, null),
+                        tuple(5L, Status.UPDATED, 10));
+        assertThat(result.getItems().get(2).errors()).containsExactly("La cantidad resultante supera el máximo permitido");
+        assertThat(jdbcTemplate.queryForList("select cantidad || ':' || coalesce(ubicacion, '') from stock order by id",
+                String.class)).containsExactly("10:Sucursal Sur", "20:Sucursal Norte", "5:Bodega Central");
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,194 @@
+package com.gerze.prueba.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gerze.prueba.model.StockChange;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(StockChangeFeed.class)
+@TestPropertySource(properties = {"app.stock.stream.buffer-size=4", "app.stock.stream.reconnect-ms=200"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockChangeFeedTest {
+
+    @Autowired
+    private StockChangeFeed stockChangeFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void awaitListener() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("select count(*) from pg_stat_activity where query = ?", Integer.class,
+                "LISTEN " + StockChangeFeed.CHANNEL) == 0) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    @DisplayName("Committed stock changes should reach every subscriber through LISTEN/NOTIFY")
+    void shouldFanOutCommittedChanges() throws Exception {
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        stockChangeFeed.register(first);
+        stockChangeFeed.register(second);
+
+        jdbcTemplate.update("update stock set cantidad = 42, version = version + 1 where id = 1");
+
+        StockChange change = first.next();
+        assertThat(change.type()).isEqualTo("updated");
+        assertThat(change.stockId()).isEqualTo(1L);
+        assertThat(change.productId()).isEqualTo(1L);
+        assertThat(change.quantity()).isEqualTo(42);
+        assertThat(second.next()).isEqualTo(change);
+    }
+
+    @Test
+    @DisplayName("Deactivating a product should publish the deletion of its stock and rollbacks nothing")
+    void shouldPublishProductDeactivationButNotRollbacks() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        stockChangeFeed.register(sink);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("update stock set cantidad = 0 where id = 3");
+            status.setRollbackOnly();
+        });
+        jdbcTemplate.update("update productos set estado = false where id = 2");
+
+        StockChange change = sink.next();
+        assertThat(change.type()).isEqualTo("deleted");
+        assertThat(change.productId()).isEqualTo(2L);
+        assertThat(sink.received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("A subscriber that stops reading should be evicted once its buffer is full")
+    void shouldEvictSlowSubscribers() throws Exception {
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink() {
+            @Override
+            public void send(StockChange change) throws IOException {
+                try {
+                    neverReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        };
+        RecordingSink fast = new RecordingSink();
+        int subscribersBefore = stockChangeFeed.getSubscriberCount();
+        stockChangeFeed.register(slow);
+        stockChangeFeed.register(fast);
+
+        for (long i = 1; i <= 10; i++) {
+            stockChangeFeed.publish(new StockChange("updated", 1L, 1L, (int) i, i));
+            Thread.sleep(5);
+        }
+
+        assertThat(slow.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stockChangeFeed.getSubscriberCount()).isEqualTo(subscribersBefore + 1);
+        for (int i = 1; i <= 10; i++) {
+            assertThat(fast.next().quantity()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("The listener should reconnect after an unexpected runtime failure as well as after SQL errors")
+    void shouldReconnectAfterRuntimeFailure() throws Exception {
+        AtomicBoolean failed = new AtomicBoolean();
+        ReflectionTestUtils.setField(stockChangeFeed, "dataSource", new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("Fallo simulado al abrir la conexión LISTEN");
+                }
+                return super.getConnection();
+            }
+        });
+
+        try {
+            jdbcTemplate.queryForObject("select pg_terminate_backend(pid) from pg_stat_activity where query = ?",
+                    Boolean.class, "LISTEN " + StockChangeFeed.CHANNEL);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!failed.get()) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(50);
+            }
+            awaitListener();
+
+            RecordingSink sink = new RecordingSink();
+            stockChangeFeed.register(sink);
+            jdbcTemplate.update("update stock set cantidad = 7, version = version + 1 where id = 2");
+
+            assertThat(sink.next().stockId()).isEqualTo(2L);
+        } finally {
+            ReflectionTestUtils.setField(stockChangeFeed, "dataSource", dataSource);
+        }
+    }
+
+    private static class RecordingSink implements StockChangeFeed.ChangeSink {
+
+        final BlockingQueue<StockChange> received = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        StockChange next() throws InterruptedException {
+            StockChange change = received.poll(5, TimeUnit.SECONDS);
+            assertThat(change).isNotNull();
+            return change;
+        }
+
+        @Override
+        public void send(StockChange change) throws IOException {
+            received.add(change);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.gerze.prueba.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.model.StockReservation;
+import com.gerze.prueba.model.StockReservation.Status;
+import com.gerze.prueba.repository.StockQuantityRepository;
+import com.gerze.prueba.repository.StockSummaryRepository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({CacheConfig.class, CatalogCache.class, StockQuantityRepository.class, StockService.class,
+        StockReservationService.class, StockSummaryRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationServiceTest {
+
+    private static final int LOAD_THREADS = 32;
+    private static final int LOAD_OPERATIONS = 4000;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Coalesced reservations should never oversell a hot product")
+    void shouldReserveUpToAvailableQuantity() {
+        setQuantity(1L, 10);
+        List<CompletableFuture<StockReservation>> reservations = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            reservations.add(stockReservationService.reserve(1L, 1));
+        }
+
+        List<Status> statuses = reservations.stream().map(CompletableFuture::join).map(StockReservation::status).toList();
+
+        assertThat(statuses).filteredOn(Status.RESERVED::equals).hasSize(10);
+        assertThat(statuses).filteredOn(Status.INSUFFICIENT_STOCK::equals).hasSize(40);
+        assertThat(quantity(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Reservations for missing or inactive products should complete as not found")
+    void shouldReportMissingProducts() {
+        jdbcTemplate.update("update productos set estado = false where id = 3");
+
+        assertThat(stockReservationService.reserve(3L, 1).join().status()).isEqualTo(Status.NOT_FOUND);
+        assertThat(stockReservationService.reserve(999L, 1).join().status()).isEqualTo(Status.NOT_FOUND);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "loadtest", matches = "true")
+    @DisplayName("Load test: single hot product, read-modify-write updateStock versus coalesced reservations")
+    void compareHotProductThroughput() throws Exception {
+        setQuantity(2L, 1_000_000);
+        AtomicInteger applied = new AtomicInteger();
+        long updateStockNanos = run(() -> {
+            int current = quantity(2L);
+            StockDTO dto = new StockDTO();
+            dto.setProductId(2L);
+            dto.setQuantity(current - 1);
+            dto.setLocation("Sucursal Norte");
+            if (stockService.updateStock(2L, dto) != null) {
+                applied.incrementAndGet();
+            }
+        });
+        int lostUpdates = applied.get() - (1_000_000 - quantity(2L));
+
+        setQuantity(2L, 1_000_000);
+        long reservationNanos = run(() -> stockReservationService.reserve(2L, 1).join());
+        int reserved = 1_000_000 - quantity(2L);
+
+        System.out.printf("updateStock:  %,10.0f ops/s, %d lost updates%n", throughput(updateStockNanos), lostUpdates);
+        System.out.printf("reservations: %,10.0f ops/s, %d lost updates%n", throughput(reservationNanos),
+                LOAD_OPERATIONS - reserved);
+        assertThat(reserved).isEqualTo(LOAD_OPERATIONS);
+    }
+
+    private long run(Runnable operation) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(LOAD_THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < LOAD_OPERATIONS; i++) {
+            executor.execute(operation);
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        return System.nanoTime() - start;
+    }
+
+    private double throughput(long nanos) {
+        return LOAD_OPERATIONS / (nanos / 1_000_000_000.0);
+    }
+
+    private void setQuantity(Long stockId, int quantity) {
+        jdbcTemplate.update("update stock set cantidad = ? where id = ?", quantity, stockId);
+    }
+
+    private int quantity(Long stockId) {
+        return jdbcTemplate.queryForObject("select cantidad from stock where id = ?", Integer.class, stockId);
+    }
+}
@@ -0,0 +1,148 @@
+package com.gerze.prueba.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gerze.prueba.config.CacheConfig;
+import com.gerze.prueba.controller.DTOs.StockDTO;
+import com.gerze.prueba.model.ResourceVersion;
+import com.gerze.prueba.repository.StockQuantityRepository;
+import com.gerze.prueba.repository.StockSummaryRepository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({CacheConfig.class, CatalogCache.class, StockQuantityRepository.class, StockService.class,
+        StockSummaryRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 10;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Concurrent read-modify-write increments guarded by If-Match should never lose updates")
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        jdbcTemplate.update("update stock set cantidad = 0 where id = 1");
+        List<Callable<Integer>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(() -> {
+                int done = 0;
+                while (done < INCREMENTS_PER_THREAD) {
+                    StockSnapshot snapshot = snapshot(1L);
+                    try {
+                        stockService.updateStock(1L, stockDTO(1L, snapshot.quantity() + 1), snapshot.version().eTag());
+                        done++;
+                    } catch (OptimisticLockingFailureException e) {
+                        // otro hilo escribió primero: se relee y se vuelve a intentar
+                    }
+                }
+                return done;
+            });
+        }
+
+        int applied = runAll(workers);
+
+        assertThat(applied).isEqualTo(THREADS * INCREMENTS_PER_THREAD);
+        assertThat(snapshot(1L).quantity()).isEqualTo(applied);
+    }
+
+    @Test
+    @DisplayName("Concurrent blind updates should be retried and every applied write should bump the version once")
+    void shouldRetryBlindUpdatesWithoutLosingVersions() throws Exception {
+        long initialVersion = version(2L);
+        List<Callable<Integer>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int firstQuantity = i * INCREMENTS_PER_THREAD + 1;
+            workers.add(() -> {
+                int applied = 0;
+                for (int n = 0; n < INCREMENTS_PER_THREAD; n++) {
+                    try {
+                        stockService.updateStock(2L, stockDTO(2L, firstQuantity + n));
+                        applied++;
+                    } catch (OptimisticLockingFailureException e) {
+                        // reintentos agotados: se informa como 409 y no se aplica
+                    }
+                }
+                return applied;
+            });
+        }
+
+        int applied = runAll(workers);
+
+        assertThat(applied).isPositive();
+        assertThat(version(2L)).isEqualTo(initialVersion + applied);
+        assertThat(snapshot(2L).quantity()).isBetween(1, THREADS * INCREMENTS_PER_THREAD);
+        assertThat(stockService.reconcileStockSummary()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A stale If-Match should be rejected without retrying nor writing")
+    void shouldRejectStaleIfMatch() {
+        StockSnapshot before = snapshot(3L);
+
+        assertThatThrownBy(() -> stockService.updateStock(3L, stockDTO(3L, 99), "\"999.0\""))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(snapshot(3L)).isEqualTo(before);
+    }
+
+    private int runAll(List<Callable<Integer>> workers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int total = 0;
+        for (Future<Integer> result : executor.invokeAll(workers)) {
+            total += result.get();
+        }
+        executor.shutdown();
+        return total;
+    }
+
+    private StockSnapshot snapshot(Long stockId) {
+        return jdbcTemplate.queryForObject("""
+                select s.cantidad, s.version, p.version as product_version
+                  from stock s join productos p on p.id = s.producto_id
+                 where s.id = ?
+                """, (rs, rowNum) -> new StockSnapshot(rs.getInt("cantidad"), ResourceVersion.ofStock(
+                rs.getLong("version"), rs.getLong("product_version"), null)), stockId);
+    }
+
+    private long version(Long stockId) {
+        return jdbcTemplate.queryForObject("select version from stock where id = ?", Long.class, stockId);
+    }
+
+    private StockDTO stockDTO(Long productId, int quantity) {
+        StockDTO dto = new StockDTO();
+        dto.setProductId(productId);
+        dto.setQuantity(quantity);
+        dto.setLocation("A1");
+        return dto;
+    }
+
+    private record StockSnapshot(int quantity, ResourceVersion version) {
+    }
+}